@@ -0,0 +1,62 @@
+package dev.roanoke.trivia.benchmark;
+
+import dev.roanoke.trivia.Quiz.FuzzyAnswerMatcher;
+import dev.roanoke.trivia.Quiz.Question;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of checking one chat message against the asked question, for questions with 1 to 50 accepted answers.
+// The fuzzy* cases use a two-edit FuzzyAnswerMatcher, as for a pool with fuzzyMatch.<pool>=2.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerMatchBenchmark {
+
+    @Param({"1", "5", "20", "50"})
+    public int answers;
+
+    private Question question;
+    private FuzzyAnswerMatcher fuzzy;
+    private String hit;
+    private String typo;
+    private String miss;
+
+    @Setup
+    public void setup() {
+        List<String> accepted = new ArrayList<>(answers);
+        for (int i = 0; i < answers; i++) {
+            accepted.add("Answer number " + i);
+        }
+        question = new Question("Name any of these", accepted, "easy");
+        fuzzy = new FuzzyAnswerMatcher(question, 2);
+        hit = "answer NUMBER " + (answers - 1);
+        typo = "answr numbre " + (answers - 1);
+        miss = "definitely not it";
+    }
+
+    @Benchmark
+    public boolean matchHit() {
+        return question.matches(hit);
+    }
+
+    @Benchmark
+    public boolean matchMiss() {
+        return question.matches(miss);
+    }
+
+    @Benchmark
+    public boolean fuzzyHit() {
+        return fuzzy.matches(typo);
+    }
+
+    @Benchmark
+    public boolean fuzzyMiss() {
+        return fuzzy.matches(miss);
+    }
+}
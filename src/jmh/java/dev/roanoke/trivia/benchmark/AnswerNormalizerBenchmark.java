@@ -0,0 +1,40 @@
+package dev.roanoke.trivia.benchmark;
+
+import dev.roanoke.trivia.Quiz.AnswerNormalizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Throughput of normalizing chat guesses: the pure-ASCII fast path, accented names (NFKD fallback)
+// and full-width input from IME keyboards.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerNormalizerBenchmark {
+
+    @Param({"ascii", "accented", "fullwidth"})
+    public String input;
+
+    private String[] guesses;
+
+    @Setup
+    public void setup() {
+        guesses = switch (input) {
+            case "ascii" -> new String[]{"Bulbasaur", "mr mime", "  Crabominable ", "fire, flying", "h:chlorophyll"};
+            case "accented" -> new String[]{"Flabébé", "Pokémon", "Nidoran♀", "Mr. Mimé", "Type: Null"};
+            case "fullwidth" -> new String[]{"ＰＩＫＡＣＨＵ", "ｂｕｌｂａｓａｕｒ", "ｆｉｒｅ， ｆｌｙｉｎｇ", "Ｍｒ． Ｍｉｍｅ", "ｅｅｖｅｅ"};
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public void normalize(Blackhole bh) {
+        for (String guess : guesses) {
+            bh.consume(AnswerNormalizer.normalize(guess));
+        }
+    }
+}
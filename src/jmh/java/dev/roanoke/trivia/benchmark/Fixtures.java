@@ -0,0 +1,100 @@
+package dev.roanoke.trivia.benchmark;
+
+import com.google.gson.JsonObject;
+import dev.roanoke.trivia.Quiz.FixtureSpeciesSource;
+import dev.roanoke.trivia.Quiz.SpeciesIndex;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Loads the Cobblemon-shaped fixture set under src/jmh/resources/fixtures through FixtureSpeciesSource,
+// optionally repeated to simulate a large species pack. Everything is read into memory up front so the
+// benchmarks measure parsing and generation, not disk access.
+final class Fixtures {
+
+    private Fixtures() {}
+
+    /**
+     * @param copies 1 = the fixtures as-is; n > 1 adds n - 1 renamed copies of every species
+     *               (with matching lang entries), the way a big custom pack would
+     */
+    static SpeciesIndex speciesIndex(int copies) throws IOException {
+        return SpeciesIndex.parse(lang(copies), speciesFiles(copies));
+    }
+
+    static JsonObject lang(int copies) throws IOException {
+        JsonObject lang;
+        try (FixtureSpeciesSource source = FixtureSpeciesSource.open(root())) {
+            lang = Objects.requireNonNull(source.lang(), "fixture lang missing");
+        }
+
+        JsonObject out = lang.deepCopy();
+        for (int copy = 1; copy < copies; copy++) {
+            for (String key : lang.keySet()) {
+                if (!key.startsWith("cobblemon.species.")) continue;
+                String rest = key.substring("cobblemon.species.".length());
+                int dot = rest.lastIndexOf('.');
+                String id = rest.substring(0, dot);
+                String value = lang.get(key).getAsString();
+
+                // Rename the species in its own dex entry too, so masking has the same work to do
+                String nameKey = "cobblemon.species." + id + ".name";
+                if (lang.has(nameKey)) {
+                    String name = lang.get(nameKey).getAsString();
+                    value = value.replace(name, name + suffix(copy));
+                }
+                out.addProperty("cobblemon.species." + id + "x" + copy + rest.substring(dot), value);
+            }
+        }
+        return out;
+    }
+
+    static List<SpeciesIndex.SpeciesFile> speciesFiles(int copies) throws IOException {
+        List<SpeciesIndex.SpeciesFile> files = new ArrayList<>();
+        try (FixtureSpeciesSource source = FixtureSpeciesSource.open(root())) {
+            for (SpeciesIndex.SpeciesFile file : source.speciesFiles()) {
+                StringWriter json = new StringWriter();
+                try (Reader r = file.opener().open()) {
+                    r.transferTo(json);
+                }
+                String original = json.toString();
+                files.add(new SpeciesIndex.SpeciesFile(file.speciesId(), () -> new StringReader(original)));
+                for (int copy = 1; copy < copies; copy++) {
+                    String renamed = original.replaceFirst("\"name\": \"([^\"]*)\"", "\"name\": \"$1" + suffix(copy) + "\"");
+                    files.add(new SpeciesIndex.SpeciesFile(file.speciesId() + "x" + copy, () -> new StringReader(renamed)));
+                }
+            }
+        }
+        return files;
+    }
+
+    // Letters only, so copies still look like names to the scramble generator
+    private static String suffix(int copy) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = copy; n > 0; n /= 26) {
+            sb.append((char) ('a' + n % 26));
+        }
+        return sb.toString();
+    }
+
+    // The fixtures directory on the jmh runtime classpath (build/resources/jmh/fixtures)
+    private static Path root() throws IOException {
+        URL url = Objects.requireNonNull(Fixtures.class.getResource("/fixtures"), "fixtures missing from classpath");
+        try {
+            if (url.getProtocol().equals("jar")) {
+                throw new IOException("Run the benchmarks from the jmh source set's classes, not a packaged jar");
+            }
+            return Path.of(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+}
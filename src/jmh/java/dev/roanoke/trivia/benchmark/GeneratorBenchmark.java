@@ -0,0 +1,85 @@
+package dev.roanoke.trivia.benchmark;
+
+import dev.roanoke.trivia.Quiz.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Species indexing and the three Cobblemon generators over the bundled fixtures. "copies" scales the
+// fixture set up to simulate big custom packs; seeds are fixed so every run generates the same pool.
+// Generators only sample candidates; the *Built variants also build every sampled question, as a cache write does.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"1", "40"})
+    public int copies;
+
+    @Param({"600"})
+    public int cap;
+
+    private SpeciesIndex index;
+    private com.google.gson.JsonObject lang;
+    private List<SpeciesIndex.SpeciesFile> files;
+
+    @Setup
+    public void setup() throws IOException {
+        lang = Fixtures.lang(copies);
+        files = Fixtures.speciesFiles(copies);
+        index = SpeciesIndex.parse(lang, files);
+    }
+
+    @Benchmark
+    public SpeciesIndex indexSpecies() {
+        return SpeciesIndex.parse(lang, files);
+    }
+
+    @Benchmark
+    public QuestionSource autoQuestions() {
+        return CobblemonAutoQuestions.generate(index, cap, SEED);
+    }
+
+    @Benchmark
+    public QuestionSource dexEntryQuestions() {
+        return CobblemonDexEntryQuestions.generate(index, cap, SEED);
+    }
+
+    @Benchmark
+    public QuestionSource nameScrambleQuestions() {
+        return CobblemonNameScrambleQuestions.generate(index, cap, SEED);
+    }
+
+    @Benchmark
+    public void autoQuestionsBuilt(Blackhole bh) {
+        buildAll(CobblemonAutoQuestions.generate(index, cap, SEED), bh);
+    }
+
+    @Benchmark
+    public void dexEntryQuestionsBuilt(Blackhole bh) {
+        // text() too, since that's where dex entries are masked
+        QuestionSource source = CobblemonDexEntryQuestions.generate(index, cap, SEED);
+        for (int i = 0; i < source.size(); i++) {
+            bh.consume(source.get(i).text());
+        }
+    }
+
+    @Benchmark
+    public void nameScrambleQuestionsBuilt(Blackhole bh) {
+        buildAll(CobblemonNameScrambleQuestions.generate(index, cap, SEED), bh);
+    }
+
+    private static void buildAll(QuestionSource source, Blackhole bh) {
+        for (int i = 0; i < source.size(); i++) {
+            bh.consume(source.get(i));
+        }
+    }
+}
@@ -1,24 +1,41 @@
 package dev.roanoke.trivia.Commands;
 
+import com.mojang.authlib.GameProfile;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
-import dev.roanoke.trivia.Quiz.CobblemonAutoQuestions;
-import dev.roanoke.trivia.Quiz.CobblemonDexEntryQuestions;
-import dev.roanoke.trivia.Quiz.CobblemonNameScrambleQuestions;
+import dev.roanoke.trivia.Quiz.QuestionGenerators;
+import dev.roanoke.trivia.Reward.Reward;
+import dev.roanoke.trivia.Reward.RewardManager;
+import dev.roanoke.trivia.Stats.Leaderboard;
+import dev.roanoke.trivia.Stats.StatsManager;
 import me.lucko.fabric.api.permissions.v0.Permissions;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
 import dev.roanoke.trivia.Config;
 import dev.roanoke.trivia.Quiz.QuizManager;
 import dev.roanoke.trivia.Trivia;
 import dev.roanoke.trivia.Utils.Messages;
+import dev.roanoke.trivia.Utils.Workers;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static net.minecraft.server.command.CommandManager.argument;
 import static net.minecraft.server.command.CommandManager.literal;
 
 public class QuizCommands {
+    private final AtomicBoolean reloading = new AtomicBoolean(false);
+
     public QuizCommands() {
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
             dispatcher.register(
@@ -36,6 +53,49 @@ public class QuizCommands {
                                     literal("reload").requires(Permissions.require("trivia.reload", 4))
                                             .executes(this::executeReloadQuiz)
                             )
+                            .then(
+                                    literal("rewards").requires(Permissions.require("trivia.rewards", 4))
+                                            .then(literal("stats").executes(this::executeRewardStats))
+                                            .then(literal("simulate")
+                                                    .then(argument("difficulty", StringArgumentType.word())
+                                                            .suggests((c, builder) -> {
+                                                                RewardManager rewards = Trivia.getInstance().quiz.getRewardManager();
+                                                                if (rewards != null) rewards.getDifficulties().forEach(builder::suggest);
+                                                                return builder.buildFuture();
+                                                            })
+                                                            .then(argument("draws", IntegerArgumentType.integer(1, 10_000_000))
+                                                                    .executes(this::executeRewardSimulate))))
+                            )
+                            .then(
+                                    literal("top").requires(Permissions.require("trivia.top", 0))
+                                            .executes(ctx -> executeTop(ctx, StatsManager.ALL_DIFFICULTIES, StatsManager.Window.ALL))
+                                            .then(argument("difficulty", StringArgumentType.word())
+                                                    .suggests((c, builder) -> {
+                                                        builder.suggest(StatsManager.ALL_DIFFICULTIES);
+                                                        Trivia.getInstance().stats.difficulties().forEach(builder::suggest);
+                                                        return builder.buildFuture();
+                                                    })
+                                                    .executes(ctx -> executeTop(ctx, StringArgumentType.getString(ctx, "difficulty"), StatsManager.Window.ALL))
+                                                    .then(argument("window", StringArgumentType.word())
+                                                            .suggests((c, builder) -> {
+                                                                for (StatsManager.Window w : StatsManager.Window.values()) {
+                                                                    builder.suggest(w.name().toLowerCase(Locale.ROOT));
+                                                                }
+                                                                return builder.buildFuture();
+                                                            })
+                                                            .executes(this::executeTopWindow)))
+                            )
+                            .then(
+                                    literal("stats").requires(Permissions.require("trivia.stats", 0))
+                                            .then(argument("player", StringArgumentType.word())
+                                                    .suggests((c, builder) -> {
+                                                        for (String name : c.getSource().getServer().getPlayerManager().getPlayerNames()) {
+                                                            builder.suggest(name);
+                                                        }
+                                                        return builder.buildFuture();
+                                                    })
+                                                    .executes(this::executePlayerStats))
+                            )
                             .then(
                                     literal("timeout").requires(Permissions.require("trivia.timeout", 4))
                                             .then(argument("timeoutSeconds", IntegerArgumentType.integer(1, 999999)).executes(this::executeQuizTimeout))
@@ -46,45 +106,175 @@ public class QuizCommands {
 
     private int executeQuizTimeout(CommandContext<ServerCommandSource> ctx) {
         Trivia.getInstance().config.setQuizTimeOut(ctx.getArgument("timeoutSeconds", Integer.class));
+        Trivia.getInstance().quizTimer.configChanged();
         ctx.getSource().sendMessage(Text.literal("Updated Quiz Timeout to " + ctx.getArgument("timeoutSeconds", Integer.class) + " seconds."));
         return 1;
     }
 
     private int executeQuizInterval(CommandContext<ServerCommandSource> ctx) {
         Trivia.getInstance().config.setQuizInterval(ctx.getArgument("intervalSeconds", Integer.class));
+        Trivia.getInstance().quizTimer.configChanged();
         ctx.getSource().sendMessage(Text.literal("Updated Quiz Interval to " + ctx.getArgument("intervalSeconds", Integer.class) + " seconds."));
         return 1;
     }
 
+    private int executeRewardStats(CommandContext<ServerCommandSource> ctx) {
+        ctx.getSource().sendMessage(Text.literal(Trivia.getInstance().rewardDispatcher.stats()));
+        return 1;
+    }
+
+    private int executeRewardSimulate(CommandContext<ServerCommandSource> ctx) {
+        String difficulty = StringArgumentType.getString(ctx, "difficulty");
+        int draws = IntegerArgumentType.getInteger(ctx, "draws");
+
+        RewardManager rewards = Trivia.getInstance().quiz.getRewardManager();
+        Map<Reward, Integer> counts = rewards == null ? Map.of() : rewards.simulate(difficulty, draws, new SplittableRandom());
+        if (counts.isEmpty()) {
+            ctx.getSource().sendError(Text.literal("No rewards in pool '" + difficulty + "'."));
+            return 0;
+        }
+
+        StringBuilder sb = new StringBuilder("Simulated " + draws + " '" + difficulty + "' rewards:");
+        for (Map.Entry<Reward, Integer> entry : counts.entrySet()) {
+            sb.append(String.format(Locale.ROOT, "%n  %s: %d (%.2f%%, expected %.2f%%)",
+                    entry.getKey().label(), entry.getValue(),
+                    100.0 * entry.getValue() / draws, 100.0 * rewards.expectedShare(difficulty, entry.getKey())));
+        }
+        ctx.getSource().sendMessage(Text.literal(sb.toString()));
+        return 1;
+    }
+
+    private int executeTopWindow(CommandContext<ServerCommandSource> ctx) {
+        String window = StringArgumentType.getString(ctx, "window");
+        try {
+            return executeTop(ctx, StringArgumentType.getString(ctx, "difficulty"),
+                    StatsManager.Window.valueOf(window.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            ctx.getSource().sendError(Text.literal("Unknown time window '" + window + "', use day, week, month or all."));
+            return 0;
+        }
+    }
+
+    private int executeTop(CommandContext<ServerCommandSource> ctx, String difficulty, StatsManager.Window window) {
+        MinecraftServer server = ctx.getSource().getServer();
+        List<Leaderboard.Entry> top = Trivia.getInstance().stats.top(difficulty, window, 10);
+        String title = "Trivia top " + (difficulty.equals(StatsManager.ALL_DIFFICULTIES) ? "" : difficulty + " ")
+                + "players (" + window.name().toLowerCase(Locale.ROOT) + "):";
+        if (top.isEmpty()) {
+            ctx.getSource().sendMessage(Text.literal(title + " nobody yet."));
+            return 1;
+        }
+
+        StringBuilder sb = new StringBuilder(title);
+        for (int i = 0; i < top.size(); i++) {
+            Leaderboard.Entry entry = top.get(i);
+            sb.append(String.format(Locale.ROOT, "%n  %d. %s - %d wins, avg %.1fs", i + 1,
+                    playerName(server, entry.player()), entry.wins(), entry.averageLatencyMs() / 1000.0));
+        }
+        ctx.getSource().sendMessage(Text.literal(sb.toString()));
+        return 1;
+    }
+
+    private int executePlayerStats(CommandContext<ServerCommandSource> ctx) {
+        MinecraftServer server = ctx.getSource().getServer();
+        String name = StringArgumentType.getString(ctx, "player");
+
+        UUID uuid = null;
+        ServerPlayerEntity online = server.getPlayerManager().getPlayer(name);
+        if (online != null) {
+            uuid = online.getUuid();
+        } else if (server.getUserCache() != null) {
+            uuid = server.getUserCache().findByName(name).map(GameProfile::getId).orElse(null);
+        }
+
+        StatsManager.PlayerStats stats = uuid == null ? null : Trivia.getInstance().stats.playerStats(uuid);
+        if (stats == null) {
+            ctx.getSource().sendMessage(Text.literal(name + " hasn't answered any trivia questions yet."));
+            return 1;
+        }
+
+        StringBuilder byDifficulty = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : stats.winsByDifficulty().entrySet()) {
+            if (!byDifficulty.isEmpty()) byDifficulty.append(", ");
+            byDifficulty.append(entry.getKey()).append(' ').append(entry.getValue());
+        }
+        ctx.getSource().sendMessage(Text.literal(String.format(Locale.ROOT,
+                "%s: %d wins (%s), %d this week. Avg %.1fs, best %.1fs. Rank #%d all-time.",
+                name, stats.wins(), byDifficulty, stats.winsThisWeek(),
+                stats.averageLatencyMs() / 1000.0, stats.bestLatencyMs() / 1000.0, stats.rank())));
+        return 1;
+    }
+
+    private static String playerName(MinecraftServer server, UUID uuid) {
+        ServerPlayerEntity online = server.getPlayerManager().getPlayer(uuid);
+        if (online != null) return online.getGameProfile().getName();
+        if (server.getUserCache() != null) {
+            String cached = server.getUserCache().getByUuid(uuid).map(GameProfile::getName).orElse(null);
+            if (cached != null) return cached;
+        }
+        return uuid.toString().substring(0, 8);
+    }
+
     private int executeStartQuiz(CommandContext<ServerCommandSource> ctx) {
         if (!Trivia.getInstance().quiz.quizInProgress()) {
-            Trivia.getInstance().quizIntervalCounter = Trivia.getInstance().config.getQuizInterval() + 1;
+            Trivia.getInstance().quizTimer.askNow(ctx.getSource().getServer());
         } else {
-            Trivia.getInstance().quizIntervalCounter = 0;
-            Trivia.getInstance().quizTimeOutCounter = 0;
-            Trivia.getInstance().quiz.startQuiz(ctx.getSource().getServer());
+            Trivia.getInstance().quizTimer.askNowReplacing(ctx.getSource().getServer());
         }
         return 1;
     }
 
     private int executeReloadQuiz(CommandContext<ServerCommandSource> ctx) {
-        var server = ctx.getSource().getServer();
+        ServerCommandSource source = ctx.getSource();
+        MinecraftServer server = source.getServer();
+
+        if (!reloading.compareAndSet(false, true)) {
+            source.sendError(Text.literal("A Trivia reload is already running."));
+            return 0;
+        }
+        source.sendMessage(Text.literal("Reloading Trivia in the background..."));
+
+        long start = System.currentTimeMillis();
 
-        // Reset timers so we don't instantly timeout / instantly start
-        Trivia.getInstance().quizIntervalCounter = 0;
-        Trivia.getInstance().quizTimeOutCounter = 0;
+        // Build everything off the server thread; the tick loop keeps running with the old pool meanwhile
+        CompletableFuture.supplyAsync(() -> {
+            // Recreate quiz + reload config
+            QuizManager quiz = new QuizManager();
+            Config config = new Config();
+            Messages messages = new Messages(FabricLoader.getInstance().getConfigDir().resolve("Trivia/messages.json"));
 
-        // Recreate quiz + reload config
-        Trivia.getInstance().quiz = new QuizManager();
-        Trivia.getInstance().config = new Config();
-        Trivia.messages = new Messages(FabricLoader.getInstance().getConfigDir().resolve("Trivia/messages.json"));
+            // Re-run the question generators (same as SERVER_STARTED)
+            QuestionGenerators.addAll(quiz, server, config.current());
 
-        // Re-add generated Cobblemon questions (same as SERVER_STARTED)
-        Trivia.getInstance().quiz.addQuestions(CobblemonDexEntryQuestions.generate(server, 800));
-        Trivia.getInstance().quiz.addQuestions(CobblemonNameScrambleQuestions.generate(server, 500));
-        Trivia.getInstance().quiz.addQuestions(CobblemonAutoQuestions.generate(server, 600));
+            return new Reloaded(quiz, config, messages);
+        }, Workers.BACKGROUND).whenComplete((reloaded, error) -> server.execute(() -> {
+            reloading.set(false);
+
+            if (error != null) {
+                Trivia.LOGGER.error("Trivia reload failed", error);
+                source.sendError(Text.literal("Trivia reload failed, keeping the current questions. See the server log."));
+                return;
+            }
+
+            // Swap on the server thread, carrying over any question that's still being answered
+            Trivia trivia = Trivia.getInstance();
+            reloaded.quiz().adoptInFlight(trivia.quiz);
+            reloaded.quiz().compileRewards(server);
+            trivia.quiz = reloaded.quiz();
+            trivia.config = reloaded.config();
+            Trivia.messages = reloaded.messages();
+
+            // Restart the interval so we don't instantly start a new quiz; an in-flight one keeps its timeout
+            trivia.quizTimer.restartInterval(server);
+
+            source.sendMessage(Text.literal("Reloaded Trivia in " + (System.currentTimeMillis() - start) + " ms: "
+                    + reloaded.quiz().getQuestionCount() + " questions, "
+                    + reloaded.quiz().getRewardCount() + " rewards."));
+        }));
 
         return 1;
     }
 
+    private record Reloaded(QuizManager quiz, Config config, Messages messages) {}
+
 }
@@ -1,64 +1,161 @@
 package dev.roanoke.trivia;
 
+import dev.roanoke.trivia.Utils.Workers;
 import net.fabricmc.loader.api.FabricLoader;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Config {
     private static final Path CONFIG_FILE_PATH = FabricLoader.getInstance().getConfigDir().resolve("Trivia/config.properties");
     private final Properties properties;
 
+    // Parsed once per change; readers (tick handlers, the scheduler) just grab the current one
+    private volatile Settings settings;
+    // Set while a write is queued, so a burst of changes ends up as one write
+    private final AtomicBoolean saveQueued = new AtomicBoolean(false);
+
     public Config() {
         properties = new Properties();
         try {
             if (Files.exists(CONFIG_FILE_PATH)) {
-                FileInputStream file = new FileInputStream(CONFIG_FILE_PATH.toFile());
-                properties.load(file);
-                file.close();
+                try (InputStream file = Files.newInputStream(CONFIG_FILE_PATH)) {
+                    properties.load(file);
+                }
             } else {
                 // If the file doesn't exist, create it with default values
-                setQuizTimeOut(450);
-                setQuizInterval(120);
+                properties.setProperty("quizTimeOut", "450");
+                properties.setProperty("quizInterval", "120");
+                properties.setProperty("repeatHistory", "50");
+                properties.setProperty("rewardsPerTick", "2");
+                properties.setProperty("rewardTickBudgetMs", "5");
+                properties.setProperty("generatorCap.dex_entry", "800");
+                properties.setProperty("generatorCap.name_scramble", "500");
+                properties.setProperty("generatorCap.auto", "600");
                 save();
             }
         } catch (IOException e) {
             e.printStackTrace();
         }
+        settings = parse();
     }
 
-    public int getQuizTimeOut() {
-        return Integer.parseInt(properties.getProperty("quizTimeOut")) * 20;
+    /**
+     * Typed, immutable view of config.properties. Timeouts/intervals are in ticks; difficultyWeights holds
+     * the difficultyWeight.<pool> entries (empty if none are set) and generatorCaps the generatorCap.<id> ones.
+     * fuzzyMaxEdits holds the fuzzyMatch.<pool> entries: how many typos a guess may have in that pool (0 = exact only).
+     */
+    public record Settings(
+            int quizTimeOutTicks,
+            int quizIntervalTicks,
+            int repeatHistory,
+            int rewardsPerTick,
+            int rewardTickBudgetMs,
+            Map<String, Integer> generatorCaps,
+            Map<String, Double> difficultyWeights,
+            Map<String, Integer> fuzzyMaxEdits
+    ) {}
+
+    public Settings current() {
+        return settings;
     }
 
     public void setQuizTimeOut(int timeout) {
-        properties.setProperty("quizTimeOut", String.valueOf(timeout));
-        save();
+        set("quizTimeOut", String.valueOf(timeout));
     }
 
-    public int getQuizInterval() {
-        return Integer.parseInt(properties.getProperty("quizInterval")) * 20;
+    public void setQuizInterval(int interval) {
+        set("quizInterval", String.valueOf(interval));
     }
 
-    public void setQuizInterval(int interval) {
-        properties.setProperty("quizInterval", String.valueOf(interval));
+    private void set(String key, String value) {
+        synchronized (properties) {
+            properties.setProperty(key, value);
+            settings = parse();
+        }
         save();
     }
 
-    public void save() {
+    private Settings parse() {
+        Map<String, Double> weights = new HashMap<>();
+        // How many questions each generator keeps; generators without an entry use their own default
+        Map<String, Integer> caps = new HashMap<>();
+        // Typo tolerance per difficulty; off unless a pool opts in
+        Map<String, Integer> fuzzy = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                if (key.startsWith("difficultyWeight.")) {
+                    weights.put(key.substring("difficultyWeight.".length()), Double.parseDouble(properties.getProperty(key)));
+                } else if (key.startsWith("generatorCap.")) {
+                    caps.put(key.substring("generatorCap.".length()), Integer.parseInt(properties.getProperty(key).trim()));
+                } else if (key.startsWith("fuzzyMatch.")) {
+                    fuzzy.put(key.substring("fuzzyMatch.".length()), Integer.parseInt(properties.getProperty(key).trim()));
+                }
+            } catch (NumberFormatException e) {
+                Trivia.LOGGER.warn("Ignoring invalid {} in config.properties: {}", key, properties.getProperty(key));
+            }
+        }
+
+        return new Settings(
+                getInt("quizTimeOut", 450) * 20,
+                getInt("quizInterval", 120) * 20,
+                // How many recently asked questions are kept out of the draw
+                getInt("repeatHistory", 50),
+                // Reward dispatch budget: at most this many rewards per server tick, within this many ms
+                getInt("rewardsPerTick", 2),
+                getInt("rewardTickBudgetMs", 5),
+                Map.copyOf(caps),
+                Map.copyOf(weights),
+                Map.copyOf(fuzzy)
+        );
+    }
+
+    private int getInt(String key, int fallback) {
+        String value = properties.getProperty(key);
+        if (value == null) return fallback;
         try {
-            if (!CONFIG_FILE_PATH.toFile().exists()) {
-                Files.createFile(CONFIG_FILE_PATH);
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            Trivia.LOGGER.warn("Invalid {} in config.properties: '{}', using {}", key, value, fallback);
+            return fallback;
+        }
+    }
+
+    // Queues a write on the background worker; changes made before it runs are written together
+    public void save() {
+        if (saveQueued.compareAndSet(false, true)) {
+            Workers.BACKGROUND.execute(this::flush);
+        }
+    }
+
+    // Writes now if a save is pending (also used on shutdown, since the worker threads are daemons)
+    public void flush() {
+        if (!saveQueued.getAndSet(false)) return;
+
+        Properties snapshot;
+        synchronized (properties) {
+            snapshot = (Properties) properties.clone();
+        }
+
+        synchronized (this) {
+            try {
+                Files.createDirectories(CONFIG_FILE_PATH.getParent());
+                Path tmp = CONFIG_FILE_PATH.resolveSibling(CONFIG_FILE_PATH.getFileName() + ".tmp");
+                try (OutputStream file = Files.newOutputStream(tmp)) {
+                    snapshot.store(file, null);
+                }
+                Files.move(tmp, CONFIG_FILE_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Trivia.LOGGER.warn("Failed to save config.properties", e);
             }
-            FileOutputStream file = new FileOutputStream(CONFIG_FILE_PATH.toFile());
-            properties.store(file, null);
-            file.close();
-        } catch (IOException e) {
-            e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
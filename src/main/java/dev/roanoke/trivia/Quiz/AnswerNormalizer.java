@@ -0,0 +1,97 @@
+package dev.roanoke.trivia.Quiz;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Turns a guess or an answer into a comparable key: lowercase, accents stripped, punctuation dropped,
+// tokens sorted and glued together ("Galarian Yamask" == "yamask-galarian" == "yamaskgalarian").
+//
+// Pure-ASCII input (nearly every guess) takes a single pass without regexes. Anything else goes through
+// the full NFKC -> strip marks pipeline, which also covers full-width letters, NBSP and surrogate pairs.
+// Both paths give the same key for the same input.
+public final class AnswerNormalizer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NOT_ALNUM = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private AnswerNormalizer() {}
+
+    public static String normalize(String s) {
+        if (s == null) return "";
+
+        int len = s.length();
+        int i = 0;
+
+        // trim() (everything up to ' '), then strip one hidden-ability prefix if present ("h:speedboost")
+        while (i < len && s.charAt(i) <= ' ') i++;
+        if (i + 1 < len && (s.charAt(i) == 'h' || s.charAt(i) == 'H') && s.charAt(i + 1) == ':') i += 2;
+
+        StringBuilder buf = new StringBuilder(len);
+        // token boundaries inside buf, as [start, end) pairs
+        int[] bounds = new int[8];
+        int tokens = 0;
+        int tokenStart = -1;
+
+        for (; i < len; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) return normalizeUnicode(s);
+
+            if (c >= 'A' && c <= 'Z') c = (char) (c + 32);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (tokenStart < 0) tokenStart = buf.length();
+                buf.append(c);
+            } else if (tokenStart >= 0) {
+                bounds = push(bounds, tokens++, tokenStart, buf.length());
+                tokenStart = -1;
+            }
+        }
+        if (tokenStart >= 0) bounds = push(bounds, tokens++, tokenStart, buf.length());
+
+        if (tokens == 0) return "";
+        if (tokens == 1) return buf.toString();
+
+        String[] parts = new String[tokens];
+        for (int t = 0; t < tokens; t++) {
+            parts[t] = buf.substring(bounds[t * 2], bounds[t * 2 + 1]);
+        }
+        return join(parts);
+    }
+
+    // Rare path for anything non-ASCII
+    private static String normalizeUnicode(String s) {
+        // Normalize weird unicode (full-width chars etc), lowercase, trim
+        s = Normalizer.normalize(s, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).trim();
+
+        // strip hidden-ability prefix if present
+        if (s.startsWith("h:")) s = s.substring(2);
+
+        // Strip accents (Flabébé -> flabebe)
+        s = MARKS.matcher(Normalizer.normalize(s, Normalizer.Form.NFD)).replaceAll("");
+
+        // Turn punctuation/underscores/hyphens into spaces, then split into tokens
+        s = NOT_ALNUM.matcher(s).replaceAll(" ").trim();
+        if (s.isEmpty()) return "";
+
+        return join(SPACES.split(s));
+    }
+
+    // Sort tokens so "yamask galarian" == "galarian yamask", then glue them together
+    private static String join(String[] parts) {
+        if (parts.length == 1) return parts[0];
+        Arrays.sort(parts);
+
+        StringBuilder sb = new StringBuilder();
+        for (String p : parts) sb.append(p);
+        return sb.toString();
+    }
+
+    private static int[] push(int[] bounds, int index, int start, int end) {
+        if (index * 2 + 1 >= bounds.length) bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        bounds[index * 2] = start;
+        bounds[index * 2 + 1] = end;
+        return bounds;
+    }
+}
@@ -1,244 +1,258 @@
 package dev.roanoke.trivia.Quiz;
 
-import com.google.gson.*;
 import dev.roanoke.trivia.Trivia;
+import dev.roanoke.trivia.Utils.Reservoir;
+import dev.roanoke.trivia.Utils.Workers;
 import net.fabricmc.loader.api.FabricLoader;
-import net.fabricmc.loader.api.ModContainer;
-import net.minecraft.resource.Resource;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.util.Identifier;
 
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.*;
 
-public final class CobblemonAutoQuestions {
+// Type, dex number, ability, egg group and evolution questions for every implemented species (generator id "auto")
+public final class CobblemonAutoQuestions implements QuestionGenerator {
 
-    private CobblemonAutoQuestions() {}
-
-    public static List<Question> generate(MinecraftServer server, int capPerType) {
-        if (!FabricLoader.getInstance().isModLoaded("cobblemon")) {
-            Trivia.LOGGER.info("[Trivia] Cobblemon not loaded; skipping auto-questions.");
-            return List.of();
-        }
-
-        // Load name + dex entry text from Cobblemon lang
-        LangData lang = loadCobblemonLang();
-
-        // Load species JSON from server ResourceManager (data packs + mod data)
-        Map<Identifier, Resource> speciesFiles = server.getResourceManager().findResources(
-                "species",
-                id -> id.getNamespace().equals("cobblemon") && id.getPath().endsWith(".json")
-        );
+    @Override
+    public String id() {
+        return "auto";
+    }
 
-        List<Question> easy = new ArrayList<>();
-        List<Question> medium = new ArrayList<>();
-        List<Question> hard = new ArrayList<>();
-        Map<Integer, LinkedHashSet<String>> dexToAnswers = new HashMap<>();
-        Map<String, LinkedHashSet<String>> evolvesIntoAnswers = new HashMap<>();
+    @Override
+    public int defaultCap() {
+        return 600;
+    }
 
-        for (var entry : speciesFiles.entrySet()) {
-            Identifier id = entry.getKey();
+    @Override
+    public boolean isAvailable() {
+        if (FabricLoader.getInstance().isModLoaded("cobblemon")) return true;
+        Trivia.LOGGER.info("[Trivia] Cobblemon not loaded; skipping auto-questions.");
+        return false;
+    }
 
-            // e.g. cobblemon:species/custom/acideon.json -> speciesId = "acideon"
-            String speciesId = filenameNoExt(id.getPath()).toLowerCase(Locale.ROOT);
+    @Override
+    public QuestionSource generate(MinecraftServer server, int capPerType) {
+        // Served from config/Trivia/cache when the Cobblemon data hasn't changed
+        return QuestionPoolCache.getOrGenerate(server, id(), capPerType, () -> {
+            // Shared lang + species data (parsed once per resource reload)
+            QuestionSource out = generate(SpeciesIndex.get(server), capPerType, new Random().nextLong());
+
+            Map<String, Integer> byDifficulty = new TreeMap<>();
+            for (int i = 0; i < out.size(); i++) byDifficulty.merge(out.difficulty(i), 1, Integer::sum);
+            Trivia.LOGGER.info("[Trivia] Generated {} Cobblemon questions: {}", out.size(), byDifficulty);
+            return out;
+        });
+    }
 
-            JsonObject obj;
-            try (var r = new InputStreamReader(entry.getValue().getInputStream(), StandardCharsets.UTF_8)) {
-                obj = JsonParser.parseReader(r).getAsJsonObject();
-            } catch (Exception e) {
-                continue;
+    // Server-free core of generate(), for benchmarks and offline use
+    public static QuestionSource generate(SpeciesIndex index, int capPerType, long seed) {
+        // One sample per bucket so you don’t accidentally add 10k questions; the sampled candidates
+        // are only turned into Questions when they're asked
+        Random rng = new Random(seed);
+        Reservoir<QuestionSource.Candidate> easy = new Reservoir<>(capPerType, rng);
+        Reservoir<QuestionSource.Candidate> medium = new Reservoir<>(capPerType, rng);
+        Reservoir<QuestionSource.Candidate> hard = new Reservoir<>(capPerType, rng);
+        Map<Integer, LinkedHashSet<String>> dexToAnswers = new TreeMap<>();
+        Map<String, LinkedHashSet<String>> evolvesIntoAnswers = new TreeMap<>();
+
+        // Per-species candidates are independent, so collect them on the generation pool.
+        // toList() keeps species order, which keeps the sampling below deterministic.
+        List<SpeciesQuestions> built = Workers.GENERATION.submit(() -> index.species().parallelStream()
+                .filter(SpeciesIndex.Species::implemented)
+                .map(sp -> buildFor(index, sp))
+                .toList()
+        ).join();
+
+        for (SpeciesQuestions b : built) {
+            for (QuestionSource.Candidate c : b.easy) easy.offer(() -> c);
+            for (QuestionSource.Candidate c : b.medium) medium.offer(() -> c);
+            for (QuestionSource.Candidate c : b.hard) hard.offer(() -> c);
+
+            if (b.dexNumber > 0) {
+                dexToAnswers.computeIfAbsent(b.dexNumber, k -> new LinkedHashSet<>()).addAll(b.dexAnswers);
+            }
+            if (b.preEvolutionId != null) {
+                evolvesIntoAnswers.computeIfAbsent(b.preEvolutionId, k -> new LinkedHashSet<>()).addAll(b.evolvesIntoAnswers);
             }
+        }
+        // --- MEDIUM: national dex number (reverse)
+        for (var e : dexToAnswers.entrySet()) {
+            int dexInt = e.getKey();
+            String dexNum = String.valueOf(dexInt);
 
-            if (obj.has("implemented") && !obj.get("implemented").getAsBoolean()) continue;
+            medium.offer(() -> lazy(
+                    "What pokemon has the National Pokedex number of #{}?",
+                    "hard",
+                    new ArrayList<>(e.getValue()),
+                    dexNum
+            ));
+        }
+        // --- EASY: inverse evolution question (pre-evo -> evolves into)
+        for (var e : evolvesIntoAnswers.entrySet()) {
+            String preId = e.getKey(); // e.g. "pichu"
+            String preName = index.nameOrDefault(preId, preId);
 
-            // Prefer lang name; fallback to species json "name"; fallback to id
-            String displayName = lang.nameById.getOrDefault(speciesId,
-                    obj.has("name") ? obj.get("name").getAsString() : speciesId);
+            medium.offer(() -> lazy(
+                    "What does {} evolve into?",
+                    "easy",
+                    new ArrayList<>(e.getValue()),
+                    preName
+            ));
+        }
 
-            // --- EASY: primary type (use base name for forms)
-            if (obj.has("primaryType")) {
-                String primary = obj.get("primaryType").getAsString().toLowerCase(Locale.ROOT);
+        List<QuestionSource.Candidate> out = new ArrayList<>();
+        out.addAll(easy.toList());
+        out.addAll(medium.toList());
+        out.addAll(hard.toList());
+        return QuestionSource.lazy(out);
+    }
 
-                // collapse forms: tornadus-therian -> tornadus
-                String baseId = speciesId.split("-", 2)[0].toLowerCase(Locale.ROOT);
+    // A question that is only built (answers normalized, strings interned) when it's asked
+    private static QuestionSource.Candidate lazy(String template, String difficulty, List<String> answers, String arg) {
+        return new QuestionSource.Candidate(difficulty, Question.contentKey(template, new String[]{arg}, answers),
+                () -> Question.templated(template, difficulty, answers, arg));
+    }
 
-                // prefer base name from lang, then json name, then baseId
-                String baseName = lang.nameById.getOrDefault(baseId,
-                        obj.has("name") ? obj.get("name").getAsString() : baseId);
+    private static SpeciesQuestions buildFor(SpeciesIndex index, SpeciesIndex.Species sp) {
+        SpeciesQuestions b = new SpeciesQuestions();
+        String speciesId = sp.id();
 
-                easy.add(new Question(
-                        "What is the primary type of " + baseName + "?",
-                        List.of(primary),
-                        "easy"
-                ));
-            }
+        // Prefer lang name; fallback to species json "name"; fallback to id
+        String displayName = index.nameOrDefault(speciesId, sp.name() != null ? sp.name() : speciesId);
 
-            // --- EASY: secondary type (use base name for forms)
-            if (obj.has("secondaryType")) {
-                String secondary = obj.get("secondaryType").getAsString().toLowerCase(Locale.ROOT);
+        // collapse forms: tornadus-therian -> tornadus
+        String baseId = speciesId.split("-", 2)[0].toLowerCase(Locale.ROOT);
 
-                String baseId = speciesId.split("-", 2)[0].toLowerCase(Locale.ROOT);
-                String baseName = lang.nameById.getOrDefault(baseId,
-                        obj.has("name") ? obj.get("name").getAsString() : baseId);
+        // prefer base name from lang, then json name, then baseId
+        String baseName = index.nameOrDefault(baseId, sp.name() != null ? sp.name() : baseId);
 
-                easy.add(new Question(
-                        "What is the secondary type of " + baseName + "?",
-                        List.of(secondary),
-                        "easy"
-                ));
-            }
+        // --- EASY: primary type (use base name for forms)
+        if (sp.primaryType() != null) {
+            b.easy.add(lazy(
+                    "What is the primary type of {}?",
+                    "easy",
+                    List.of(sp.primaryType()),
+                    baseName
+            ));
+        }
 
-            // --- MEDIUM: national dex number (forward)
-            if (obj.has("nationalPokedexNumber")) {
-                int dexInt = obj.get("nationalPokedexNumber").getAsInt();
-                String dexNum = String.valueOf(dexInt);
+        // --- EASY: secondary type (use base name for forms)
+        if (sp.secondaryType() != null) {
+            b.easy.add(lazy(
+                    "What is the secondary type of {}?",
+                    "easy",
+                    List.of(sp.secondaryType()),
+                    baseName
+            ));
+        }
 
-                // forward question (keep if you want)
-                medium.add(new Question(
-                        "What is the National Pokedex number of " + displayName + "?",
-                        List.of(dexNum, "#" + dexNum),
-                        "hard"
-                ));
+        // --- MEDIUM: national dex number (forward)
+        if (sp.dexNumber() > 0) {
+            int dexInt = sp.dexNumber();
+            String dexNum = String.valueOf(dexInt);
 
-                // reverse mapping (number -> pokemon)
-                String idAns = speciesId.toLowerCase(Locale.ROOT).trim();
-                String nameAns = displayName.toLowerCase(Locale.ROOT).trim();
+            // forward question (keep if you want)
+            b.medium.add(lazy(
+                    "What is the National Pokedex number of {}?",
+                    "hard",
+                    List.of(dexNum, "#" + dexNum),
+                    displayName
+            ));
 
-                LinkedHashSet<String> set = dexToAnswers.computeIfAbsent(dexInt, k -> new LinkedHashSet<>());
+            // reverse mapping (number -> pokemon)
+            String idAns = speciesId.toLowerCase(Locale.ROOT).trim();
+            String nameAns = displayName.toLowerCase(Locale.ROOT).trim();
 
-                // add name first (prettier), then id (fallback)
-                set.add(nameAns);
-                if (!idAns.equals(nameAns)) {
-                    set.add(idAns);
-                }
+            // add name first (prettier), then id (fallback); merged across species in generate()
+            b.dexNumber = dexInt;
+            b.dexAnswers.add(nameAns);
+            if (!idAns.equals(nameAns)) {
+                b.dexAnswers.add(idAns);
             }
+        }
 
-            // --- MEDIUM: ability (accept any valid ability)
-            if (obj.has("abilities") && obj.get("abilities").isJsonArray()) {
-                LinkedHashSet<String> abilities = new LinkedHashSet<>();
-
-                for (JsonElement a : obj.getAsJsonArray("abilities")) {
-                    if (!a.isJsonPrimitive()) continue;
-
-                    String raw = a.getAsString().trim().toLowerCase(Locale.ROOT);
-
-                    // remove hidden prefix "h:"
-                    if (raw.startsWith("h:")) raw = raw.substring(2).trim();
+        // --- MEDIUM: ability (accept any valid ability)
+        if (!sp.abilities().isEmpty()) {
+            LinkedHashSet<String> abilities = new LinkedHashSet<>();
 
-                    if (raw.isBlank()) continue;
+            for (String a : sp.abilities()) {
+                String raw = a;
 
-                    // Accept both "speedboost" and "speed boost"
-                    abilities.add(raw);
-                    abilities.add(splitCamelOrCompactAbility(raw));
-                }
+                // remove hidden prefix "h:"
+                if (raw.startsWith("h:")) raw = raw.substring(2).trim();
 
-                // remove empty / duplicates
-                abilities.removeIf(s -> s == null || s.isBlank());
+                if (raw.isBlank()) continue;
 
-                if (!abilities.isEmpty()) {
-                    hard.add(new Question(
-                            "Name an ability that " + displayName + " can have.",
-                            new ArrayList<>(abilities),
-                            "medium"
-                    ));
-                }
+                // Accept both "speedboost" and "speed boost"
+                abilities.add(raw);
+                abilities.add(splitCamelOrCompactAbility(raw));
             }
 
-            // --- MEDIUM: egg group (accept any listed egg group)
-            if (obj.has("eggGroups") && obj.get("eggGroups").isJsonArray()) {
-                List<String> eggGroups = new ArrayList<>();
-                for (JsonElement e : obj.getAsJsonArray("eggGroups")) {
-                    if (e.isJsonPrimitive()) {
-                        eggGroups.add(e.getAsString().toLowerCase(Locale.ROOT));
-                    }
-                }
-
-                if (!eggGroups.isEmpty()) {
-                    medium.add(new Question(
-                            "Name an egg group that " + displayName + " belongs to.",
-                            eggGroups,
-                            "medium"
-                    ));
-                }
-            }
-            // --- EASY: pre-evolution (forward) + inverse map
-            if (obj.has("preEvolution") && obj.get("preEvolution").isJsonPrimitive()) {
-                String preIdRaw = obj.get("preEvolution").getAsString().trim().toLowerCase(Locale.ROOT);
-                if (!preIdRaw.isBlank()) {
-
-                    // e.g. "cobblemon:pichu" -> "pichu"
-                    String preId = preIdRaw.contains(":") ? preIdRaw.substring(preIdRaw.indexOf(':') + 1) : preIdRaw;
-
-                    String preName = lang.nameById.getOrDefault(preId, preId);
-
-                    // Forward question: "What does X evolve from?"
-                    LinkedHashSet<String> fromAnswers = new LinkedHashSet<>();
-                    fromAnswers.add(preName.toLowerCase(Locale.ROOT));
-                    fromAnswers.add(preId.toLowerCase(Locale.ROOT));
-
-                    medium.add(new Question(
-                            "What does " + displayName + " evolve from?",
-                            new ArrayList<>(fromAnswers),
-                            "easy"
-                    ));
-
-                    // Inverse mapping: preId -> this species (collapse forms)
-                    String evoId = speciesId.split("-", 2)[0].toLowerCase(Locale.ROOT);
-                    String evoName = lang.nameById.getOrDefault(evoId, evoId);
-
-                    LinkedHashSet<String> intoSet = evolvesIntoAnswers.computeIfAbsent(preId, k -> new LinkedHashSet<>());
-                    intoSet.add(evoName.toLowerCase(Locale.ROOT));
-                    intoSet.add(evoId.toLowerCase(Locale.ROOT));
-                }
+            // remove empty / duplicates
+            abilities.removeIf(s -> s == null || s.isBlank());
+
+            if (!abilities.isEmpty()) {
+                b.hard.add(lazy(
+                        "Name an ability that {} can have.",
+                        "medium",
+                        new ArrayList<>(abilities),
+                        displayName
+                ));
             }
         }
-        // --- MEDIUM: national dex number (reverse)
-        for (var e : dexToAnswers.entrySet()) {
-            int dexInt = e.getKey();
-            String dexNum = String.valueOf(dexInt);
 
-            medium.add(new Question(
-                    "What pokemon has the National Pokedex number of #" + dexNum + "?",
-                    new ArrayList<>(e.getValue()),
-                    "hard"
+        // --- MEDIUM: egg group (accept any listed egg group)
+        if (!sp.eggGroups().isEmpty()) {
+            b.medium.add(lazy(
+                    "Name an egg group that {} belongs to.",
+                    "medium",
+                    sp.eggGroups(),
+                    displayName
             ));
         }
-        // --- EASY: inverse evolution question (pre-evo -> evolves into)
-        for (var e : evolvesIntoAnswers.entrySet()) {
-            String preId = e.getKey(); // e.g. "pichu"
-            String preName = lang.nameById.getOrDefault(preId, preId);
+        // --- EASY: pre-evolution (forward) + inverse map
+        if (sp.preEvolution() != null) {
+            String preIdRaw = sp.preEvolution();
+            if (!preIdRaw.isBlank()) {
+
+                // e.g. "cobblemon:pichu" -> "pichu"
+                String preId = preIdRaw.contains(":") ? preIdRaw.substring(preIdRaw.indexOf(':') + 1) : preIdRaw;
+
+                String preName = index.nameOrDefault(preId, preId);
+
+                // Forward question: "What does X evolve from?"
+                LinkedHashSet<String> fromAnswers = new LinkedHashSet<>();
+                fromAnswers.add(preName.toLowerCase(Locale.ROOT));
+                fromAnswers.add(preId.toLowerCase(Locale.ROOT));
+
+                b.medium.add(lazy(
+                        "What does {} evolve from?",
+                        "easy",
+                        new ArrayList<>(fromAnswers),
+                        displayName
+                ));
 
-            medium.add(new Question(
-                    "What does " + preName + " evolve into?",
-                    new ArrayList<>(e.getValue()),
-                    "easy"
-            ));
-        }
-        // Shuffle and cap so you don’t accidentally add 10k questions
-        Collections.shuffle(easy);
-        Collections.shuffle(medium);
-        Collections.shuffle(hard);
-
-        if (capPerType > 0) {
-            if (easy.size() > capPerType) easy = easy.subList(0, capPerType);
-            if (medium.size() > capPerType) medium = medium.subList(0, capPerType);
-            if (hard.size() > capPerType) hard = hard.subList(0, capPerType);
-        }
+                // Inverse mapping: preId -> this species (collapse forms)
+                String evoName = index.nameOrDefault(baseId, baseId);
 
-        List<Question> out = new ArrayList<>(easy.size() + medium.size() + hard.size());
-        out.addAll(easy);
-        out.addAll(medium);
-        out.addAll(hard);
+                b.preEvolutionId = preId;
+                b.evolvesIntoAnswers.add(evoName.toLowerCase(Locale.ROOT));
+                b.evolvesIntoAnswers.add(baseId);
+            }
+        }
 
-        Trivia.LOGGER.info("[Trivia] Generated Cobblemon questions: easy={} medium={} hard={} total={}",
-                easy.size(), medium.size(), hard.size(), out.size());
+        return b;
+    }
 
-        return out;
+    // Question candidates + reverse-mapping contributions for one species, merged in generate()
+    private static final class SpeciesQuestions {
+        final List<QuestionSource.Candidate> easy = new ArrayList<>(2);
+        final List<QuestionSource.Candidate> medium = new ArrayList<>(4);
+        final List<QuestionSource.Candidate> hard = new ArrayList<>(1);
+        final LinkedHashSet<String> dexAnswers = new LinkedHashSet<>();
+        final LinkedHashSet<String> evolvesIntoAnswers = new LinkedHashSet<>();
+        int dexNumber;
+        String preEvolutionId;
     }
+
     private static String splitCamelOrCompactAbility(String ability) {
         // If it's already got spaces/underscores, normalise to spaces
         String s = ability.replace('_', ' ').trim();
@@ -257,77 +271,4 @@ public final class CobblemonAutoQuestions {
         }
         return s; // if we can't confidently split, just return original
     }
-
-    private static String filenameNoExt(String path) {
-        int slash = path.lastIndexOf('/');
-        String file = (slash >= 0) ? path.substring(slash + 1) : path;
-        return file.endsWith(".json") ? file.substring(0, file.length() - 5) : file;
-    }
-
-    private static LangData loadCobblemonLang() {
-        LangData data = new LangData();
-
-        ModContainer cobblemon = FabricLoader.getInstance().getModContainer("cobblemon").orElse(null);
-        if (cobblemon == null) return data;
-
-        Path langPath = cobblemon.findPath("assets/cobblemon/lang/en_us.json").orElse(null);
-        if (langPath == null) return data;
-
-        try (Reader r = Files.newBufferedReader(langPath, StandardCharsets.UTF_8)) {
-            JsonObject lang = JsonParser.parseReader(r).getAsJsonObject();
-
-            for (String key : lang.keySet()) {
-                if (!key.startsWith("cobblemon.species.")) continue;
-
-                if (key.endsWith(".name")) {
-                    String speciesId = key.substring("cobblemon.species.".length(), key.length() - ".name".length())
-                            .toLowerCase(Locale.ROOT);
-                    data.nameById.put(speciesId, lang.get(key).getAsString());
-                } else if (key.endsWith(".desc")) {
-                    String speciesId = key.substring("cobblemon.species.".length(), key.length() - ".desc".length())
-                            .toLowerCase(Locale.ROOT);
-                    data.descById.put(speciesId, lang.get(key).getAsString());
-                }
-            }
-
-        } catch (Exception e) {
-            Trivia.LOGGER.warn("[Trivia] Failed reading Cobblemon en_us.json", e);
-        }
-
-        return data;
-    }
-
-    // Optional fallback: if custom species don’t have lang entries but do have a pokedex field
-    private static String extractPokedexFromSpeciesJson(JsonObject obj) {
-        if (!obj.has("pokedex")) return null;
-        JsonElement p = obj.get("pokedex");
-
-        // Sometimes it might just be a string
-        if (p.isJsonPrimitive() && p.getAsJsonPrimitive().isString()) {
-            return p.getAsString();
-        }
-
-        if (!p.isJsonObject()) return null;
-        JsonObject po = p.getAsJsonObject();
-
-        // common guesses
-        if (po.has("entry") && po.get("entry").isJsonPrimitive()) return po.get("entry").getAsString();
-        if (po.has("text") && po.get("text").isJsonPrimitive()) return po.get("text").getAsString();
-
-        // try entries array: [{ "text": "..." }, ...]
-        if (po.has("entries") && po.get("entries").isJsonArray()) {
-            JsonArray arr = po.getAsJsonArray("entries");
-            if (!arr.isEmpty() && arr.get(0).isJsonObject()) {
-                JsonObject first = arr.get(0).getAsJsonObject();
-                if (first.has("text") && first.get("text").isJsonPrimitive()) return first.get("text").getAsString();
-            }
-        }
-
-        return null;
-    }
-
-    private static final class LangData {
-        final Map<String, String> nameById = new HashMap<>();
-        final Map<String, String> descById = new HashMap<>();
-    }
-}
\ No newline at end of file
+}
@@ -1,75 +1,101 @@
 package dev.roanoke.trivia.Quiz;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import dev.roanoke.trivia.Trivia;
+import dev.roanoke.trivia.Utils.Reservoir;
 import net.fabricmc.loader.api.FabricLoader;
-import net.fabricmc.loader.api.ModContainer;
 import net.minecraft.server.MinecraftServer;
 
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.text.Normalizer;
 import java.util.*;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public final class CobblemonDexEntryQuestions {
+// "Whos Dex Entry is this: ..." for every species with a dex entry (generator id "dex_entry")
+public final class CobblemonDexEntryQuestions implements QuestionGenerator {
 
-    private CobblemonDexEntryQuestions() {}
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NOT_ALNUM = Pattern.compile("[^a-z0-9 ]");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
 
-    public static List<Question> generate(MinecraftServer server, int cap) {
-        if (!FabricLoader.getInstance().isModLoaded("cobblemon")) {
-            Trivia.LOGGER.info("[Trivia] Cobblemon not loaded; skipping dex-entry questions.");
-            return List.of();
-        }
+    @Override
+    public String id() {
+        return "dex_entry";
+    }
 
-        LangData lang = loadLang();
-        List<Question> out = new ArrayList<>();
+    @Override
+    public int defaultCap() {
+        return 800;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        if (FabricLoader.getInstance().isModLoaded("cobblemon")) return true;
+        Trivia.LOGGER.info("[Trivia] Cobblemon not loaded; skipping dex-entry questions.");
+        return false;
+    }
 
-        for (String speciesId : lang.descById.keySet()) {
-            String desc = lang.descById.get(speciesId);
+    @Override
+    public QuestionSource generate(MinecraftServer server, int cap) {
+        // Served from config/Trivia/cache when the Cobblemon data hasn't changed
+        return QuestionPoolCache.getOrGenerate(server, id(), cap, () -> {
+            QuestionSource out = generate(SpeciesIndex.get(server), cap, new Random().nextLong());
+            Trivia.LOGGER.info("[Trivia] Generated {} Cobblemon dex-entry questions.", out.size());
+            return out;
+        });
+    }
+
+    // Server-free core of generate(); the same index + seed always gives the same questions
+    public static QuestionSource generate(SpeciesIndex index, int cap, long seed) {
+        // Only the sampled entries become candidates, and those are only built when asked
+        Reservoir<QuestionSource.Candidate> sample = new Reservoir<>(cap, new Random(seed));
+
+        for (var entry : new TreeMap<>(index.descriptions()).entrySet()) {
+            String speciesId = entry.getKey();
+            String desc = entry.getValue();
             if (desc == null || desc.isBlank()) continue;
             if (isEcologyUnderResearch(desc)) continue;
-            // Base id = cut off everything after first '-'
-            String fullId = speciesId.toLowerCase(Locale.ROOT);
-            String baseId = speciesId.split("-", 2)[0].toLowerCase(Locale.ROOT);
 
-            String baseName = lang.nameById.getOrDefault(baseId, baseId);
+            sample.offer(() -> {
+                // The key comes from the unmasked parts; they're rebuilt (cheaply) when asked rather than held
+                Hidden hidden = hidden(index, speciesId);
+                long key = DexEntryQuestion.contentKey(desc, hidden.variants(), hidden.answers());
+                return new QuestionSource.Candidate("hard", key, () -> toQuestion(index, speciesId, desc));
+            });
+        }
+
+        return QuestionSource.lazy(sample.toList());
+    }
 
-            String maskedDesc = maskNameVariants(desc, baseName, baseId, fullId);
+    // The name to hide in a dex entry: the spellings to mask and the answers to accept
+    private record Hidden(List<String> variants, List<String> answers, int maskLength) {}
 
-            // Answers: baseName and (optionally) baseId if different
-            String nameNorm = normKey(baseName);
-            String idNorm = normKey(baseId);
+    private static Question toQuestion(SpeciesIndex index, String speciesId, String desc) {
+        Hidden hidden = hidden(index, speciesId);
+        // Masked when first asked, not here: only a handful of these are ever asked
+        return new DexEntryQuestion(desc, hidden.variants(), hidden.maskLength(), hidden.answers());
+    }
 
-            List<String> answers = new ArrayList<>();
+    private static Hidden hidden(SpeciesIndex index, String speciesId) {
+        // Base id = cut off everything after first '-'
+        String fullId = speciesId.toLowerCase(Locale.ROOT);
+        String baseId = speciesId.split("-", 2)[0].toLowerCase(Locale.ROOT);
 
-// ALWAYS include baseId so players can type flabebe / tornadus
-            answers.add(baseId.toLowerCase(Locale.ROOT));
+        String baseName = index.nameOrDefault(baseId, baseId);
 
-// Only include baseName if it’s genuinely different after normalising
-            if (!nameNorm.equals(idNorm)) {
-                answers.add(baseName.toLowerCase(Locale.ROOT));
-            }
+        // Answers: baseName and (optionally) baseId if different
+        String nameNorm = normKey(baseName);
+        String idNorm = normKey(baseId);
 
-            out.add(new Question(
-                    "Whos Dex Entry is this: " + maskedDesc,
-                    answers,
-                    "hard"
-            ));
+        List<String> answers = new ArrayList<>();
 
-        }
+        // ALWAYS include baseId so players can type flabebe / tornadus
+        answers.add(baseId.toLowerCase(Locale.ROOT));
 
-        Collections.shuffle(out);
-        if (cap > 0 && out.size() > cap) {
-            out = out.subList(0, cap);
+        // Only include baseName if it’s genuinely different after normalising
+        if (!nameNorm.equals(idNorm)) {
+            answers.add(baseName.toLowerCase(Locale.ROOT));
         }
 
-        Trivia.LOGGER.info("[Trivia] Generated {} Cobblemon dex-entry questions.", out.size());
-        return out;
+        return new Hidden(nameVariants(baseName, baseId, fullId), answers, Math.max(3, baseId.length()));
     }
 
     private static boolean isEcologyUnderResearch(String desc) {
@@ -81,41 +107,17 @@ public final class CobblemonDexEntryQuestions {
                 .trim();
 
         // collapse whitespace
-        s = s.replaceAll("\\s+", " ");
+        s = WHITESPACE.matcher(s).replaceAll(" ");
 
         // remove punctuation so "research." matches too
-        s = s.replaceAll("[^a-z0-9 ]", "");
+        s = NOT_ALNUM.matcher(s).replaceAll("");
 
         return s.contains("ecology under research");
     }
 
-    private static String maskNameVariants(String desc, String baseName, String baseId) {
-        if (desc == null) return "";
-
-        // we’ll mask using underscores based on the base id length (stable, no accents)
-        String underscores = "_".repeat(Math.max(3, baseId.length()));
-
-        // variants to mask (case-insensitive, unicode-aware)
-        //  - baseName (may contain accents)
-        //  - de-accented baseName (Flabebe)
-        //  - baseId (flabebe)
-        List<String> variants = new ArrayList<>();
-        variants.add(baseName);
-        variants.add(stripAccents(baseName));
-        variants.add(baseId);
-
-        String out = desc;
-        for (String v : variants) {
-            if (v == null || v.isBlank()) continue;
-
-            // (?iu) = case-insensitive + unicode-aware so Flabébé matches properly
-            out = out.replaceAll("(?iu)\\b" + java.util.regex.Pattern.quote(v) + "\\b", underscores);
-        }
-        return out;
-    }
     private static String stripAccents(String s) {
         if (s == null) return "";
-        return Normalizer.normalize(s, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return MARKS.matcher(Normalizer.normalize(s, Normalizer.Form.NFD)).replaceAll("");
     }
 
     private static String stripGenderSymbols(String s) {
@@ -123,83 +125,20 @@ public final class CobblemonDexEntryQuestions {
         return s.replace("♂", "").replace("♀", "");
     }
 
-    private static String maskNameVariants(String desc, String baseName, String baseId, String fullId) {
-        if (desc == null) return "";
-
-        String underscores = "_".repeat(Math.max(3, baseId.length()));
-
-        List<String> variants = new ArrayList<>();
-
-        // add the most specific variants first
-        variants.add(baseName);
-        variants.add(stripAccents(baseName));
-        variants.add(stripGenderSymbols(baseName));
-        variants.add(stripGenderSymbols(stripAccents(baseName)));
-
-        variants.add(fullId);
-        variants.add(baseId);
-
-        // remove blanks + sort longest-first so "Nidoran♂" gets masked before "Nidoran"
-        variants.removeIf(v -> v == null || v.isBlank());
-        variants.sort(Comparator.comparingInt(String::length).reversed());
-
-        String out = desc;
-        for (String v : variants) {
-            out = out.replaceAll("(?iu)" + Pattern.quote(v), underscores);
-        }
-        return out;
+    // Every spelling of the name a dex entry might use (DexEntryQuestion dedupes and orders them)
+    private static List<String> nameVariants(String baseName, String baseId, String fullId) {
+        return List.of(
+                baseName,
+                stripAccents(baseName),
+                stripGenderSymbols(baseName),
+                stripGenderSymbols(stripAccents(baseName)),
+                fullId,
+                baseId
+        );
     }
 
     // used only for comparing/deduping answers
     private static String normKey(String s) {
         return stripAccents(s).toLowerCase(Locale.ROOT).trim();
     }
-    private static String maskFirstName(String desc, String name) {
-        if (name == null || name.isBlank()) return desc;
-
-        // Word-boundary match, replace first hit only (case-insensitive)
-        Pattern p = Pattern.compile("\\b" + Pattern.quote(name) + "\\b", Pattern.CASE_INSENSITIVE);
-        Matcher m = p.matcher(desc);
-        if (!m.find()) return desc;
-
-        String underscores = "_".repeat(name.length());
-        return m.replaceFirst(underscores);
-    }
-
-    private static LangData loadLang() {
-        LangData data = new LangData();
-
-        ModContainer cobblemon = FabricLoader.getInstance().getModContainer("cobblemon").orElse(null);
-        if (cobblemon == null) return data;
-
-        Path langPath = cobblemon.findPath("assets/cobblemon/lang/en_us.json").orElse(null);
-        if (langPath == null) return data;
-
-        try (Reader r = Files.newBufferedReader(langPath, StandardCharsets.UTF_8)) {
-            JsonObject lang = JsonParser.parseReader(r).getAsJsonObject();
-
-            for (String key : lang.keySet()) {
-                if (!key.startsWith("cobblemon.species.")) continue;
-
-                if (key.endsWith(".name")) {
-                    String speciesId = key.substring("cobblemon.species.".length(), key.length() - ".name".length())
-                            .toLowerCase(Locale.ROOT);
-                    data.nameById.put(speciesId, lang.get(key).getAsString());
-                } else if (key.endsWith(".desc")) {
-                    String speciesId = key.substring("cobblemon.species.".length(), key.length() - ".desc".length())
-                            .toLowerCase(Locale.ROOT);
-                    data.descById.put(speciesId, lang.get(key).getAsString());
-                }
-            }
-        } catch (Exception e) {
-            Trivia.LOGGER.error("[Trivia] Failed to read Cobblemon en_us.json", e);
-        }
-
-        return data;
-    }
-
-    private static final class LangData {
-        final Map<String, String> nameById = new HashMap<>();
-        final Map<String, String> descById = new HashMap<>();
-    }
-}
\ No newline at end of file
+}
@@ -1,37 +1,55 @@
 package dev.roanoke.trivia.Quiz;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import dev.roanoke.trivia.Trivia;
+import dev.roanoke.trivia.Utils.Reservoir;
 import net.fabricmc.loader.api.FabricLoader;
-import net.fabricmc.loader.api.ModContainer;
-import net.minecraft.resource.Resource;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.util.Identifier;
 
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.*;
 
-public final class CobblemonNameScrambleQuestions {
+// "Unscramble this Pokemon name: ..." (generator id "name_scramble")
+public final class CobblemonNameScrambleQuestions implements QuestionGenerator {
 
-    private CobblemonNameScrambleQuestions() {}
+    private static final String TEMPLATE = "Unscramble this Pokemon name: {}";
+
+    @Override
+    public String id() {
+        return "name_scramble";
+    }
+
+    @Override
+    public int defaultCap() {
+        return 500;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        if (FabricLoader.getInstance().isModLoaded("cobblemon")) return true;
+        Trivia.LOGGER.info("[Trivia] Cobblemon not loaded; skipping scramble questions.");
+        return false;
+    }
 
     /**
      * @param cap how many scramble questions to generate (e.g. 300)
      */
-    public static List<Question> generate(MinecraftServer server, int cap) {
-        if (!FabricLoader.getInstance().isModLoaded("cobblemon")) {
-            Trivia.LOGGER.info("[Trivia] Cobblemon not loaded; skipping scramble questions.");
-            return List.of();
-        }
+    @Override
+    public QuestionSource generate(MinecraftServer server, int cap) {
+        // Served from config/Trivia/cache when the Cobblemon data hasn't changed
+        return QuestionPoolCache.getOrGenerate(server, id(), cap, () -> {
+            QuestionSource out = generate(SpeciesIndex.get(server), cap, new Random().nextLong());
+            Trivia.LOGGER.info("[Trivia] Generated {} Cobblemon name-scramble questions.", out.size());
+            return out;
+        });
+    }
 
-        // Build a pool of (speciesId -> displayName)
-        Map<String, String> names = loadNamesFromLang();
-        fillMissingNamesFromSpeciesJson(server, names);
+    // Server-free core of generate(); the same index + seed always gives the same questions
+    public static QuestionSource generate(SpeciesIndex index, int cap, long seed) {
+        // Build a pool of (speciesId -> displayName): lang names, then species json "name" for custom mons.
+        // Sorted so the seed alone decides the order.
+        Map<String, String> names = new TreeMap<>(index.langNames());
+        for (SpeciesIndex.Species sp : index.species()) {
+            if (sp.name() != null) names.putIfAbsent(sp.id(), sp.name());
+        }
 
         // Dedupe by normalized name so forms/custom duplicates don’t explode
         LinkedHashMap<String, Entry> uniqueByNorm = new LinkedHashMap<>();
@@ -46,36 +64,43 @@ public final class CobblemonNameScrambleQuestions {
             uniqueByNorm.put(norm, new Entry(speciesId, displayName));
         }
 
-        List<Entry> pool = new ArrayList<>(uniqueByNorm.values());
-        Collections.shuffle(pool, new Random());
-
-        List<Question> out = new ArrayList<>();
-        Random rng = new Random();
-
-        for (Entry entry : pool) {
-            if (cap > 0 && out.size() >= cap) break;
-
-            String answerName = entry.displayName;
-            String answerId = entry.speciesId;
-
-            String norm = normalizeForScramble(answerName);          // letters+digits only, lowercase
-            String scrambled = scrambleDifferent(norm, rng);
-            if (scrambled == null) continue;
+        // Only the sampled names become candidates, and those are only built when asked. Each gets its
+        // own scramble seed so it comes out the same every time it's built (the key is hashed from one
+        // throwaway scramble; a short name is far cheaper to shuffle than a Question is to build).
+        Random rng = new Random(seed);
+        Reservoir<QuestionSource.Candidate> sample = new Reservoir<>(cap, rng);
+        for (var e : uniqueByNorm.entrySet()) {
+            String norm = e.getKey();
+            Entry entry = e.getValue();
+            if (!canScramble(norm)) continue;
+            sample.offer(() -> {
+                long scrambleSeed = rng.nextLong();
+                long key = Question.contentKey(TEMPLATE,
+                        new String[]{scrambleDifferent(norm, new Random(scrambleSeed))}, answers(entry));
+                return new QuestionSource.Candidate(difficultyFromLength(norm.length()), key,
+                        () -> toQuestion(entry, norm, new Random(scrambleSeed)));
+            });
+        }
+        return QuestionSource.lazy(sample.toList());
+    }
 
-            // Accept both pretty name + id (your isRightAnswer normalizer will handle spaces/punct anyway)
-            LinkedHashSet<String> answers = new LinkedHashSet<>();
-            answers.add(answerName.toLowerCase(Locale.ROOT));
-            answers.add(answerId.toLowerCase(Locale.ROOT));
+    private static Question toQuestion(Entry entry, String norm, Random rng) {
+        String scrambled = scrambleDifferent(norm, rng);          // norm: letters+digits only, lowercase
 
-            out.add(new Question(
-                    "Unscramble this Pokemon name: " + scrambled,
-                    new ArrayList<>(answers),
-                    difficultyFromLength(norm.length())
-            ));
-        }
+        return Question.templated(
+                TEMPLATE,
+                difficultyFromLength(norm.length()),
+                answers(entry),
+                scrambled
+        );
+    }
 
-        Trivia.LOGGER.info("[Trivia] Generated {} Cobblemon name-scramble questions.", out.size());
-        return out;
+    // Accept both pretty name + id (your isRightAnswer normalizer will handle spaces/punct anyway)
+    private static List<String> answers(Entry entry) {
+        LinkedHashSet<String> answers = new LinkedHashSet<>();
+        answers.add(entry.displayName.toLowerCase(Locale.ROOT));
+        answers.add(entry.speciesId.toLowerCase(Locale.ROOT));
+        return new ArrayList<>(answers);
     }
 
     // ---------------- helpers ----------------
@@ -92,15 +117,20 @@ public final class CobblemonNameScrambleQuestions {
         return s.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
     }
 
-    // Shuffle characters; ensure it differs from original (try a few times)
-    private static String scrambleDifferent(String s, Random rng) {
-        if (s == null) return null;
-        if (s.length() < 4) return null;
+    // A name that is one repeated letter can't be scrambled into anything different
+    private static boolean canScramble(String s) {
+        for (int i = 1; i < s.length(); i++) {
+            if (s.charAt(i) != s.charAt(0)) return true;
+        }
+        return false;
+    }
 
+    // Shuffle characters until it differs from the original; s needs at least two distinct characters
+    private static String scrambleDifferent(String s, Random rng) {
         char[] arr = s.toCharArray();
         String original = s;
 
-        for (int attempt = 0; attempt < 15; attempt++) {
+        while (true) {
             // Fisher–Yates shuffle
             for (int i = arr.length - 1; i > 0; i--) {
                 int j = rng.nextInt(i + 1);
@@ -111,66 +141,6 @@ public final class CobblemonNameScrambleQuestions {
             String scrambled = new String(arr);
             if (!scrambled.equals(original)) return scrambled;
         }
-        return null;
-    }
-
-    private static Map<String, String> loadNamesFromLang() {
-        Map<String, String> nameById = new HashMap<>();
-
-        ModContainer cobblemon = FabricLoader.getInstance().getModContainer("cobblemon").orElse(null);
-        if (cobblemon == null) return nameById;
-
-        Path langPath = cobblemon.findPath("assets/cobblemon/lang/en_us.json").orElse(null);
-        if (langPath == null) return nameById;
-
-        try (Reader r = Files.newBufferedReader(langPath, StandardCharsets.UTF_8)) {
-            JsonObject lang = JsonParser.parseReader(r).getAsJsonObject();
-
-            for (String key : lang.keySet()) {
-                if (!key.startsWith("cobblemon.species.") || !key.endsWith(".name")) continue;
-
-                String speciesId = key.substring("cobblemon.species.".length(), key.length() - ".name".length())
-                        .toLowerCase(Locale.ROOT);
-
-                nameById.put(speciesId, lang.get(key).getAsString());
-            }
-        } catch (Exception e) {
-            Trivia.LOGGER.warn("[Trivia] Failed reading Cobblemon en_us.json for names.", e);
-        }
-
-        return nameById;
-    }
-
-    // For custom mons that don’t exist in en_us.json, fallback to species json "name"
-    private static void fillMissingNamesFromSpeciesJson(MinecraftServer server, Map<String, String> names) {
-        try {
-            Map<Identifier, Resource> speciesFiles = server.getResourceManager().findResources(
-                    "species",
-                    id -> id.getNamespace().equals("cobblemon") && id.getPath().endsWith(".json")
-            );
-
-            for (var entry : speciesFiles.entrySet()) {
-                Identifier id = entry.getKey();
-                String speciesId = filenameNoExt(id.getPath()).toLowerCase(Locale.ROOT);
-
-                if (names.containsKey(speciesId)) continue;
-
-                try (var r = new InputStreamReader(entry.getValue().getInputStream(), StandardCharsets.UTF_8)) {
-                    JsonObject obj = JsonParser.parseReader(r).getAsJsonObject();
-                    if (obj.has("name") && obj.get("name").isJsonPrimitive()) {
-                        names.put(speciesId, obj.get("name").getAsString());
-                    }
-                } catch (Exception ignored) {}
-            }
-        } catch (Exception e) {
-            Trivia.LOGGER.warn("[Trivia] Failed reading species JSON for scramble fallback names.", e);
-        }
-    }
-
-    private static String filenameNoExt(String path) {
-        int slash = path.lastIndexOf('/');
-        String file = (slash >= 0) ? path.substring(slash + 1) : path;
-        return file.endsWith(".json") ? file.substring(0, file.length() - 5) : file;
     }
 
     private record Entry(String speciesId, String displayName) {}
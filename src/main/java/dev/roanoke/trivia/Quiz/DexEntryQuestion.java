@@ -0,0 +1,92 @@
+package dev.roanoke.trivia.Quiz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+// "Whos Dex Entry is this: ..." with the species' name hidden. Holds the raw description and the name
+// variants to hide; the masked text is only built by text() when the question is asked (most generated dex
+// entries never are). It isn't kept, since sources build a fresh instance for every draw anyway.
+public final class DexEntryQuestion extends Question {
+
+    public static final String TEMPLATE = "Whos Dex Entry is this: {}";
+
+    private final String[] variants;
+    private final int maskLength;
+
+    /**
+     * @param variants   spellings of the name to hide, e.g. "Flabébé", "Flabebe", "flabebe"
+     * @param maskLength how many underscores replace each hit
+     */
+    public DexEntryQuestion(String description, List<String> variants, int maskLength, List<String> answers) {
+        super(TEMPLATE, new String[]{description}, answers, "hard");
+
+        // Longest first, so "Nidoran♂" is hidden whole instead of leaving a stray "♂" after "Nidoran"
+        LinkedHashSet<String> unique = new LinkedHashSet<>();
+        for (String v : variants) {
+            if (v != null && !v.isBlank()) unique.add(StringPool.intern(v));
+        }
+        List<String> sorted = new ArrayList<>(unique);
+        sorted.sort(Comparator.comparingInt(String::length).reversed());
+        this.variants = sorted.toArray(String[]::new);
+        this.maskLength = maskLength;
+    }
+
+    public String description() {
+        return args().get(0);
+    }
+
+    public List<String> variants() {
+        return Collections.unmodifiableList(Arrays.asList(variants));
+    }
+
+    public int maskLength() {
+        return maskLength;
+    }
+
+    // Hashes the raw description and the hidden names instead of the masked text, so deduplicating a pool
+    // never masks (the masked text is only needed once the question is asked)
+    @Override
+    public long contentKey() {
+        return contentKey(description(), variants(), answers());
+    }
+
+    /** {@link #contentKey()} of the question these would build, without building it. */
+    public static long contentKey(String description, List<String> variants, List<String> answers) {
+        // Masking ignores case, so spellings that only differ in case hide the same thing
+        TreeSet<String> names = new TreeSet<>();
+        for (String v : variants) {
+            if (v != null && !v.isBlank()) names.add(v.toLowerCase(Locale.ROOT));
+        }
+        return contentKey(TEMPLATE + '\0' + description + '\0' + String.join("\0", names), answerKeys(answers));
+    }
+
+    @Override
+    public Question withAnswers(List<String> answers) {
+        return new DexEntryQuestion(description(), variants(), maskLength, answers);
+    }
+
+    @Override
+    public String text() {
+        return TEMPLATE.replace("{}", mask());
+    }
+
+    // One pass with every variant in a single alternation; (?iu) = case-insensitive + unicode-aware
+    private String mask() {
+        String description = description();
+        if (variants.length == 0) return description;
+
+        StringBuilder regex = new StringBuilder("(?iu)");
+        for (int i = 0; i < variants.length; i++) {
+            if (i > 0) regex.append('|');
+            regex.append(Pattern.quote(variants[i]));
+        }
+        return Pattern.compile(regex.toString()).matcher(description).replaceAll("_".repeat(maskLength));
+    }
+}
@@ -0,0 +1,41 @@
+package dev.roanoke.trivia.Quiz;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Pool names ("easy", "medium", custom categories...) mapped to a one-byte id, so a Question
+// stores a byte instead of its own reference to the difficulty string.
+// Ids are never released (questions from the pool being replaced still hold them during a reload), so a
+// server that keeps renaming pools can run out; loaders check canRegister() and skip such a pool with an error.
+public final class Difficulty {
+
+    private static final int MAX_IDS = 256;
+    private static final Map<String, Byte> IDS = new HashMap<>();
+    private static final List<String> NAMES = new ArrayList<>();
+
+    private Difficulty() {}
+
+    public static synchronized byte idOf(String name) {
+        Byte id = IDS.get(name);
+        if (id != null) return id;
+
+        if (NAMES.size() >= MAX_IDS) {
+            throw new IllegalStateException("Too many question difficulties (max " + MAX_IDS + "): " + name);
+        }
+        byte next = (byte) NAMES.size();
+        NAMES.add(StringPool.intern(name));
+        IDS.put(name, next);
+        return next;
+    }
+
+    // Whether idOf(name) would succeed
+    public static synchronized boolean canRegister(String name) {
+        return IDS.containsKey(name) || NAMES.size() < MAX_IDS;
+    }
+
+    public static synchronized String nameOf(byte id) {
+        return NAMES.get(id & 0xFF);
+    }
+}
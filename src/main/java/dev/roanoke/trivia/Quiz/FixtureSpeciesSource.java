@@ -0,0 +1,81 @@
+package dev.roanoke.trivia.Quiz;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Species and lang data from a directory or a zip/jar laid out like the Cobblemon jar:
+ * {@code assets/cobblemon/lang/en_us.json} and {@code data/cobblemon/species/**.json}.
+ * A Cobblemon jar itself works, as does a data pack with an added assets folder.
+ * A zip stays open until {@link #close()}, so load the index before closing:
+ * <pre>
+ * try (FixtureSpeciesSource source = FixtureSpeciesSource.open(path)) {
+ *     SpeciesIndex index = SpeciesIndex.load(source);
+ * }
+ * </pre>
+ */
+public final class FixtureSpeciesSource implements SpeciesDataSource, Closeable {
+
+    private static final String LANG = "assets/cobblemon/lang/en_us.json";
+    private static final String SPECIES = "data/cobblemon/species";
+
+    private final Path root;
+    private final FileSystem zip;
+
+    private FixtureSpeciesSource(Path root, FileSystem zip) {
+        this.root = root;
+        this.zip = zip;
+    }
+
+    public static FixtureSpeciesSource open(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            return new FixtureSpeciesSource(path, null);
+        }
+        FileSystem zip = FileSystems.newFileSystem(path);
+        return new FixtureSpeciesSource(zip.getPath("/"), zip);
+    }
+
+    @Override
+    public JsonObject lang() throws IOException {
+        Path lang = root.resolve(LANG);
+        if (!Files.isRegularFile(lang)) return null;
+
+        try (Reader r = Files.newBufferedReader(lang, StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(r).getAsJsonObject();
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid " + LANG, e);
+        }
+    }
+
+    @Override
+    public List<SpeciesIndex.SpeciesFile> speciesFiles() throws IOException {
+        Path species = root.resolve(SPECIES);
+        if (!Files.isDirectory(species)) return List.of();
+
+        try (Stream<Path> paths = Files.walk(species)) {
+            return paths.filter(p -> p.toString().endsWith(".json") && Files.isRegularFile(p))
+                    .sorted()
+                    .map(p -> new SpeciesIndex.SpeciesFile(
+                            SpeciesIndex.filenameNoExt(p.getFileName().toString()).toLowerCase(Locale.ROOT),
+                            () -> Files.newBufferedReader(p, StandardCharsets.UTF_8)))
+                    .toList();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (zip != null) zip.close();
+    }
+}
@@ -0,0 +1,129 @@
+package dev.roanoke.trivia.Quiz;
+
+import java.util.*;
+
+// Accepts guesses within a few typos of an answer ("crabominabel", "flabebee"), for pools where fuzzyMatch is on.
+// How many edits are allowed scales with the answer's length: none under 5 characters, then one per 5.
+//
+// Built once per asked question, not per guess: every answer key's deletion neighbourhood (the strings left
+// after removing up to k characters) goes into a hash map. Two strings are within k edits only if some
+// k-deletion of each is equal, so a guess only looks up its own deletions - O(guess length) lookups at one
+// edit - and runs a banded edit-distance check on the few answers that share one. No answer is scanned
+// with a full DP table, which keeps chat floods cheap.
+public final class FuzzyAnswerMatcher {
+
+    // Deletion neighbourhoods grow as length^k, so more than two edits isn't offered
+    public static final int MAX_EDITS = 2;
+    private static final int CHARS_PER_EDIT = 5;
+
+    private final Set<String> exact;
+    // deletion variant -> answer keys it came from
+    private final Map<String, List<String>> neighbourhood = new HashMap<>();
+    private final int maxEdits;
+    private final int minLength;
+    private final int maxLength;
+
+    /**
+     * @param maxEdits upper bound on edits for long answers (clamped to {@link #MAX_EDITS}); 0 = exact only
+     */
+    public FuzzyAnswerMatcher(Question question, int maxEdits) {
+        this.exact = question.answerKeys();
+        this.maxEdits = Math.max(0, Math.min(maxEdits, MAX_EDITS));
+
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (String key : exact) {
+            min = Math.min(min, key.length());
+            max = Math.max(max, key.length());
+            int edits = allowedEdits(key.length());
+            if (edits > 0) addDeletions(key, key, edits);
+        }
+        this.minLength = min;
+        this.maxLength = max;
+    }
+
+    private int allowedEdits(int length) {
+        return Math.min(maxEdits, length / CHARS_PER_EDIT);
+    }
+
+    public boolean matches(String guess) {
+        String key = AnswerNormalizer.normalize(guess);
+        if (exact.contains(key)) return true;
+        if (neighbourhood.isEmpty()) return false;
+
+        // Too short or too long to be within reach of any answer: no lookups at all
+        int length = key.length();
+        if (length < minLength - maxEdits || length > maxLength + maxEdits) return false;
+
+        return search(key, key, maxEdits, new HashSet<>());
+    }
+
+    // Checks key's deletion variants (variant itself, then with up to `depth` more characters removed)
+    private boolean search(String key, String variant, int depth, Set<String> tried) {
+        if (!tried.add(variant)) return false;
+
+        List<String> answers = neighbourhood.get(variant);
+        if (answers != null) {
+            for (String answer : answers) {
+                int edits = allowedEdits(answer.length());
+                if (Math.abs(answer.length() - key.length()) <= edits && withinEdits(key, answer, edits)) {
+                    return true;
+                }
+            }
+        }
+        if (depth == 0 || variant.isEmpty()) return false;
+
+        for (int i = 0; i < variant.length(); i++) {
+            // skip repeated letters: deleting either of "bb" gives the same string
+            if (i > 0 && variant.charAt(i) == variant.charAt(i - 1)) continue;
+            if (search(key, variant.substring(0, i) + variant.substring(i + 1), depth - 1, tried)) return true;
+        }
+        return false;
+    }
+
+    private void addDeletions(String answer, String variant, int depth) {
+        List<String> sources = neighbourhood.computeIfAbsent(variant, k -> new ArrayList<>(1));
+        if (!sources.contains(answer)) sources.add(answer);
+        if (depth == 0) return;
+
+        for (int i = 0; i < variant.length(); i++) {
+            if (i > 0 && variant.charAt(i) == variant.charAt(i - 1)) continue;
+            addDeletions(answer, variant.substring(0, i) + variant.substring(i + 1), depth - 1);
+        }
+    }
+
+    // Levenshtein distance <= k, only filling the diagonal band |i - j| <= k and stopping once a row is all > k
+    static boolean withinEdits(String a, String b, int k) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > k) return false;
+
+        int big = k + 1;
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j <= k ? j : big;
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - k);
+            int to = Math.min(m, i + k);
+            cur[0] = i <= k ? i : big;
+            if (from > 1) cur[from - 1] = big;
+
+            int rowMin = cur[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int v = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                cur[j] = Math.min(v, big);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > k) return false;
+            if (to < m) cur[to + 1] = big;
+
+            int[] t = prev;
+            prev = cur;
+            cur = t;
+        }
+        return prev[m] <= k;
+    }
+}
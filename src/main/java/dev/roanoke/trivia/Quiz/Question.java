@@ -1,24 +1,168 @@
 package dev.roanoke.trivia.Quiz;
 
+import dev.roanoke.trivia.Utils.Hashing;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 // contains a question string, a list of possible answers, and a function to check if its the correct answer
+//
+// Stored compactly since pools run to tens of thousands of questions: the difficulty is a byte id,
+// answers and shared templates are interned, and generated text is kept as a shared template +
+// per-question args ("What is the primary type of {}?" + ["Bulbasaur"]) that is only rendered when the
+// question is asked.
 public class Question {
 
-    public String question;
-    public List<String> answers;
-    public String difficulty;
+    private static final String[] NO_ARGS = new String[0];
+
+    private final String template;
+    private final String[] args;
+    private final String[] answers;
+    private final byte difficulty;
+
+    // normalized answer keys, built once so a guess costs one normalize + one lookup
+    private final Set<String> answerKeys;
 
     public Question(String question, List<String> answers, String difficulty) {
-        this.question = question;
-        this.answers = answers;
-        this.difficulty = difficulty;
+        this(question, NO_ARGS, answers, difficulty);
+    }
+
+    /**
+     * @param template question text with one {@code {}} slot per arg
+     */
+    public Question(String template, String[] args, List<String> answers, String difficulty) {
+        // Only templates shared by many questions are interned; a plain question's text and the args are one-offs
+        this.template = args.length == 0 ? template : StringPool.intern(template);
+        this.args = args.length == 0 ? NO_ARGS : args.clone();
+        this.difficulty = Difficulty.idOf(difficulty);
         // PokeTrivia.LOGGER.info("Loaded question: " + question);
         this.answers = answers.stream()
-                .map(a -> a.toLowerCase(Locale.ROOT).trim())
+                .map(a -> StringPool.intern(a.toLowerCase(Locale.ROOT).trim()))
                 .distinct()
-                .toList();
+                .toArray(String[]::new);
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (String a : this.answers) {
+            String key = AnswerNormalizer.normalize(a);
+            if (!key.isEmpty()) keys.add(StringPool.intern(key));
+        }
+        this.answerKeys = Set.copyOf(keys);
+    }
+
+    public static Question templated(String template, String difficulty, List<String> answers, String... args) {
+        return new Question(template, args, answers, difficulty);
+    }
+
+    // Renders the question text; plain (non-templated) questions return their text as-is
+    public String text() {
+        return render(template, args);
+    }
+
+    private static String render(String template, String[] args) {
+        if (args.length == 0) return template;
+
+        StringBuilder sb = new StringBuilder(template.length() + 16 * args.length);
+        int arg = 0;
+        int from = 0;
+        int slot;
+        while (arg < args.length && (slot = template.indexOf("{}", from)) >= 0) {
+            sb.append(template, from, slot).append(args[arg++]);
+            from = slot + 2;
+        }
+        sb.append(template, from, template.length());
+        return sb.toString();
+    }
+
+    // Stable id for stats: the same difficulty + rendered text always hashes the same, across restarts and reloads
+    public long id() {
+        return Hashing.fnv64(difficulty(), text());
+    }
+
+    /**
+     * Content hash for spotting the same question from two sources: the text with case, punctuation and spacing
+     * ignored, plus the sorted normalized answers. Unlike {@link #id()} it ignores the difficulty.
+     */
+    public long contentKey() {
+        return contentKey(text(), answerKeys);
+    }
+
+    /**
+     * {@link #contentKey()} of the question these would build, without building it; generators use this so
+     * deduplicating a pool doesn't construct every candidate.
+     */
+    public static long contentKey(String template, String[] args, List<String> answers) {
+        return contentKey(render(template, args), answerKeys(answers));
+    }
+
+    static long contentKey(String text, Collection<String> answerKeys) {
+        String[] keys = answerKeys.toArray(new String[0]);
+        Arrays.sort(keys);
+        String[] parts = new String[keys.length + 1];
+        parts[0] = normalizeText(text);
+        System.arraycopy(keys, 0, parts, 1, keys.length);
+        return Hashing.fnv64(parts);
+    }
+
+    // The same keys the constructor builds, minus the interning
+    static Set<String> answerKeys(List<String> answers) {
+        Set<String> keys = new HashSet<>();
+        for (String a : answers) {
+            String key = AnswerNormalizer.normalize(a.toLowerCase(Locale.ROOT).trim());
+            if (!key.isEmpty()) keys.add(key);
+        }
+        return keys;
+    }
+
+    // Lowercase letters/digits, every other run of characters collapsed to one space
+    private static String normalizeText(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean gap = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (gap && sb.length() > 0) sb.append(' ');
+                sb.append(Character.toLowerCase(c));
+                gap = false;
+            } else {
+                gap = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    /** The same question with a different answer list (used when merging duplicates). */
+    public Question withAnswers(List<String> answers) {
+        return new Question(template, args, answers, difficulty());
+    }
+
+    public String template() {
+        return template;
+    }
+
+    public List<String> args() {
+        return Collections.unmodifiableList(Arrays.asList(args));
+    }
+
+    public List<String> answers() {
+        return Collections.unmodifiableList(Arrays.asList(answers));
+    }
+
+    public String difficulty() {
+        return Difficulty.nameOf(difficulty);
+    }
+
+    public Set<String> answerKeys() {
+        return answerKeys;
+    }
+
+    public boolean matches(String guess) {
+        return answerKeys.contains(AnswerNormalizer.normalize(guess));
     }
 
 }
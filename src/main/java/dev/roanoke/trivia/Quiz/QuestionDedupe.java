@@ -0,0 +1,120 @@
+package dev.roanoke.trivia.Quiz;
+
+import dev.roanoke.trivia.Utils.LongIntHashMap;
+
+import java.util.*;
+
+// Collapses questions that appear more than once across the merged pool (questions.json, then each generator
+// in order), keyed by Question.contentKey(). The first copy wins and picks up the answer spellings of the
+// copies it replaced. Keys are computed once per source; the merge itself is a pass over longs.
+final class QuestionDedupe {
+
+    private QuestionDedupe() {}
+
+    record Result(List<QuestionSource> sources, Map<String, Integer> collapsed, int size) {}
+
+    // Generated and cached sources already know their keys; only questions.json entries are hashed here
+    static long[] keys(QuestionSource source) {
+        long[] keys = new long[source.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = source.contentKey(i);
+        }
+        return keys;
+    }
+
+    /**
+     * @param ids     source name per source, for the report
+     * @param keys    {@link #keys} per source
+     * @return the deduplicated sources (in the same order) and how many duplicates each source lost
+     */
+    static Result apply(List<String> ids, List<QuestionSource> sources, List<long[]> keys) {
+        int total = 0;
+        for (long[] k : keys) total += k.length;
+
+        // key -> position of the kept copy in keptSource/keptIndex
+        LongIntHashMap seen = new LongIntHashMap(total);
+        int[] keptSource = new int[total];
+        int[] keptIndex = new int[total];
+        int kept = 0;
+        // kept copy (source << 32 | index) -> the duplicates whose answers it takes on; rare, so boxed
+        Map<Long, List<Long>> donors = new HashMap<>();
+        Map<String, Integer> collapsed = new LinkedHashMap<>();
+
+        List<int[]> keptPerSource = new ArrayList<>(sources.size());
+        for (int s = 0; s < sources.size(); s++) {
+            long[] sourceKeys = keys.get(s);
+            int[] keep = new int[sourceKeys.length];
+            int keepCount = 0;
+            int dropped = 0;
+
+            for (int i = 0; i < sourceKeys.length; i++) {
+                int existing = seen.putIfAbsent(sourceKeys[i], kept);
+                if (existing < 0) {
+                    keptSource[kept] = s;
+                    keptIndex[kept] = i;
+                    kept++;
+                    keep[keepCount++] = i;
+                } else {
+                    long owner = ((long) keptSource[existing] << 32) | keptIndex[existing];
+                    donors.computeIfAbsent(owner, k -> new ArrayList<>()).add(((long) s << 32) | i);
+                    dropped++;
+                }
+            }
+            keptPerSource.add(Arrays.copyOf(keep, keepCount));
+            if (dropped > 0) collapsed.put(ids.get(s), dropped);
+        }
+
+        List<QuestionSource> out = new ArrayList<>(sources.size());
+        for (int s = 0; s < sources.size(); s++) {
+            QuestionSource source = sources.get(s);
+            int[] keep = keptPerSource.get(s);
+
+            // donor refs by position in `keep`
+            Map<Integer, List<Long>> merges = new HashMap<>();
+            for (int j = 0; j < keep.length; j++) {
+                List<Long> d = donors.get(((long) s << 32) | keep[j]);
+                if (d != null) merges.put(j, d);
+            }
+
+            if (keep.length == source.size() && merges.isEmpty()) {
+                out.add(source);
+            } else {
+                out.add(new Deduped(source, keep, merges, sources));
+            }
+        }
+        return new Result(out, collapsed, kept);
+    }
+
+    // A source with its duplicates left out; kept copies that absorbed duplicates get their answers merged
+    // when they're built, so nothing extra is held in memory.
+    private record Deduped(QuestionSource source, int[] keep, Map<Integer, List<Long>> merges,
+                           List<QuestionSource> all) implements QuestionSource {
+        @Override
+        public int size() {
+            return keep.length;
+        }
+
+        @Override
+        public String difficulty(int index) {
+            return source.difficulty(keep[index]);
+        }
+
+        @Override
+        public long contentKey(int index) {
+            return source.contentKey(keep[index]);
+        }
+
+        @Override
+        public Question get(int index) {
+            Question q = source.get(keep[index]);
+            List<Long> duplicates = merges.get(index);
+            if (duplicates == null) return q;
+
+            LinkedHashSet<String> answers = new LinkedHashSet<>(q.answers());
+            for (long ref : duplicates) {
+                answers.addAll(all.get((int) (ref >>> 32)).get((int) ref).answers());
+            }
+            return answers.size() == q.answers().size() ? q : q.withAnswers(new ArrayList<>(answers));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package dev.roanoke.trivia.Quiz;
+
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * A source of generated questions. Register implementations under the {@value #ENTRYPOINT} entrypoint in
+ * fabric.mod.json (they need a public no-arg constructor); Trivia runs every registered generator on server
+ * start and on /trivia reload. The built-in Cobblemon generators are registered the same way.
+ */
+public interface QuestionGenerator {
+
+    String ENTRYPOINT = "trivia:generator";
+
+    /** Stable id; also the {@code generatorCap.<id>} key in config.properties. */
+    String id();
+
+    /** Cap used when config.properties has no {@code generatorCap.<id>}. */
+    int defaultCap();
+
+    /** False to skip this generator on this server, e.g. when the mod it reads from isn't installed. */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Describes up to {@code cap} questions for the server's current data. Runs off the server thread during
+     * /trivia reload, so only read server state that is safe to read from there. Prefer returning
+     * {@link QuestionSource#lazy} candidates over building every question up front.
+     */
+    QuestionSource generate(MinecraftServer server, int cap);
+}
@@ -0,0 +1,55 @@
+package dev.roanoke.trivia.Quiz;
+
+import dev.roanoke.trivia.Config;
+import dev.roanoke.trivia.Trivia;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.entrypoint.EntrypointContainer;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Every QuestionGenerator registered through the "trivia:generator" entrypoint, from this mod and others.
+public final class QuestionGenerators {
+
+    // Entrypoints can't change while the game is running, so they're looked up once
+    private static volatile List<QuestionGenerator> all;
+
+    private QuestionGenerators() {}
+
+    public static List<QuestionGenerator> all() {
+        List<QuestionGenerator> generators = all;
+        if (generators != null) return generators;
+
+        synchronized (QuestionGenerators.class) {
+            if (all == null) {
+                List<QuestionGenerator> found = new ArrayList<>();
+                for (EntrypointContainer<QuestionGenerator> container : FabricLoader.getInstance()
+                        .getEntrypointContainers(QuestionGenerator.ENTRYPOINT, QuestionGenerator.class)) {
+                    try {
+                        found.add(container.getEntrypoint());
+                    } catch (Throwable t) {
+                        Trivia.LOGGER.error("[Trivia] Failed to load question generator from {}.",
+                                container.getProvider().getMetadata().getId(), t);
+                    }
+                }
+                all = List.copyOf(found);
+            }
+            return all;
+        }
+    }
+
+    // Runs every available generator into quiz; a generator that throws is logged and skipped
+    public static void addAll(QuizManager quiz, MinecraftServer server, Config.Settings settings) {
+        for (QuestionGenerator generator : all()) {
+            try {
+                if (!generator.isAvailable()) continue;
+
+                int cap = settings.generatorCaps().getOrDefault(generator.id(), generator.defaultCap());
+                quiz.addSource(generator.id(), generator.generate(server, cap));
+            } catch (Exception e) {
+                Trivia.LOGGER.error("[Trivia] Question generator '{}' failed; skipping it.", generator.id(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package dev.roanoke.trivia.Quiz;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Streams questions.json ({"difficulty": [{"question": ..., "answers": [...]}, ...]}) straight into Question
+// objects, so a large bank is never held twice (once as a Gson tree, once as questions).
+public final class QuestionLoader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private QuestionLoader() {}
+
+    /**
+     * Emits every well-formed question to {@code sink} as it is parsed. Bad entries are skipped and reported
+     * in the result; a syntax error that makes the rest of the file unreadable is thrown.
+     */
+    public static Result load(Path path, Consumer<Question> sink) throws IOException {
+        Result result = new Result();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             JsonReader reader = new JsonReader(new BufferedReader(
+                     Channels.newReader(channel, StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            reader.setLenient(true);
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String difficulty = reader.nextName();
+
+                if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    result.malformed.add(location(reader) + ": '" + difficulty + "' should be a list of questions");
+                    reader.skipValue();
+                    continue;
+                }
+
+                // Only after pools have been renamed hundreds of times without a restart
+                if (!Difficulty.canRegister(difficulty)) {
+                    result.rejectedPools.add(difficulty);
+                    reader.skipValue();
+                    continue;
+                }
+
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    Question q = readQuestion(reader, difficulty, result);
+                    if (q != null) {
+                        sink.accept(q);
+                        result.counts.merge(difficulty, 1, Integer::sum);
+                    }
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+
+        return result;
+    }
+
+    private static Question readQuestion(JsonReader reader, String difficulty, Result result) throws IOException {
+        String where = location(reader);
+
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            result.malformed.add(where + ": expected a question object");
+            reader.skipValue();
+            return null;
+        }
+
+        String text = null;
+        List<String> answers = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (field.equals("question") && reader.peek() == JsonToken.STRING) {
+                text = reader.nextString();
+            } else if (field.equals("answers") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    JsonToken t = reader.peek();
+                    if (t == JsonToken.STRING || t == JsonToken.NUMBER) {
+                        answers.add(reader.nextString());
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (text == null || text.isBlank()) {
+            result.malformed.add(where + ": missing \"question\" in '" + difficulty + "'");
+            return null;
+        }
+        if (answers.isEmpty()) {
+            result.malformed.add(where + ": no \"answers\" for \"" + text + "\"");
+            return null;
+        }
+        return new Question(text, answers, difficulty);
+    }
+
+    // JsonReader.toString() is "JsonReader at line N column M path $.easy[3]"
+    private static String location(JsonReader reader) {
+        String s = reader.toString();
+        int i = s.indexOf("line ");
+        return i >= 0 ? s.substring(i) : reader.getPath();
+    }
+
+    public static final class Result {
+        // difficulty -> questions loaded, in file order
+        public final Map<String, Integer> counts = new LinkedHashMap<>();
+        public final List<String> malformed = new ArrayList<>();
+        // pools skipped because no more difficulty ids are left until a restart
+        public final List<String> rejectedPools = new ArrayList<>();
+    }
+}
@@ -0,0 +1,303 @@
+package dev.roanoke.trivia.Quiz;
+
+import dev.roanoke.trivia.Trivia;
+import dev.roanoke.trivia.Utils.Workers;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.resource.Resource;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Supplier;
+
+// Binary snapshot of a generated Cobblemon question pool, stored under config/Trivia/cache/.
+// Keyed by the Cobblemon version + the species resources that fed the generator, so we only
+// re-parse species JSON / en_us.json when something actually changed.
+public final class QuestionPoolCache {
+
+    private static final Path CACHE_DIR = FabricLoader.getInstance().getConfigDir().resolve("Trivia/cache");
+    private static final int MAGIC = 0x54525651; // "TRVQ"
+    private static final int FORMAT_VERSION = 5;
+    // [magic][version][key]
+    private static final int HEADER_BYTES = 16;
+    private static final byte KIND_PLAIN = 0;
+    private static final byte KIND_DEX_ENTRY = 1;
+    // The pack id Fabric gives the resources bundled in Cobblemon's own jar
+    private static final String COBBLEMON_PACK_ID = "cobblemon";
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private QuestionPoolCache() {}
+
+    public static QuestionSource getOrGenerate(MinecraftServer server, String name, int cap, Supplier<QuestionSource> generator) {
+        if (!FabricLoader.getInstance().isModLoaded("cobblemon")) {
+            return generator.get();
+        }
+
+        Path file = CACHE_DIR.resolve(name + ".bin");
+        long key;
+        try {
+            key = fingerprint(server, name, cap);
+        } catch (Exception e) {
+            Trivia.LOGGER.warn("[Trivia] Could not fingerprint Cobblemon data for '{}'; regenerating.", name, e);
+            return generator.get();
+        }
+
+        QuestionSource cached = read(file, key);
+        if (cached != null) {
+            Trivia.LOGGER.info("[Trivia] Loaded {} cached '{}' questions from {}.", cached.size(), name, file.getFileName());
+            return cached;
+        }
+
+        QuestionSource generated = generator.get();
+        // Writing builds every question once; do that off to the side, they're dropped again right after
+        Workers.BACKGROUND.execute(() -> write(file, key, generated));
+        return generated;
+    }
+
+    // ---------------- key ----------------
+
+    private static long fingerprint(MinecraftServer server, String name, int cap) throws IOException {
+        long h = FNV_OFFSET;
+        h = mix(h, FORMAT_VERSION);
+        h = mix(h, name);
+        h = mix(h, cap);
+        h = mix(h, FabricLoader.getInstance().getModContainer("cobblemon")
+                .map(c -> c.getMetadata().getVersion().getFriendlyString())
+                .orElse("none"));
+
+        Map<Identifier, Resource> speciesFiles = server.getResourceManager().findResources(
+                "species",
+                id -> id.getNamespace().equals("cobblemon") && id.getPath().endsWith(".json")
+        );
+
+        // Sorted so the key doesn't depend on HashMap iteration order
+        List<Identifier> ids = new ArrayList<>(speciesFiles.keySet());
+        ids.sort(Comparator.naturalOrder());
+
+        for (Identifier id : ids) {
+            Resource resource = speciesFiles.get(id);
+            h = mix(h, id.toString());
+            h = mix(h, resource.getPackId());
+
+            // Only Cobblemon's own mod pack is covered by its version; every other pack (including add-ons
+            // with "cobblemon" in their id) can change under the same name, so hash its bytes
+            // (still far cheaper than building a Gson tree for them)
+            if (!resource.getPackId().equals(COBBLEMON_PACK_ID)) {
+                try (InputStream in = resource.getInputStream()) {
+                    byte[] buf = new byte[8192];
+                    int n;
+                    while ((n = in.read(buf)) > 0) {
+                        for (int i = 0; i < n; i++) {
+                            h = (h ^ (buf[i] & 0xFF)) * FNV_PRIME;
+                        }
+                    }
+                }
+            }
+        }
+        return h;
+    }
+
+    private static long mix(long h, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return (h ^ 0xFF) * FNV_PRIME; // separator so ("ab","c") != ("a","bc")
+    }
+
+    private static long mix(long h, int v) {
+        for (int i = 0; i < 4; i++) {
+            h = (h ^ ((v >>> (i * 8)) & 0xFF)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    // ---------------- read / write ----------------
+
+    // The file is memory-mapped and each question is decoded from the mapping when it's drawn; only the
+    // record offsets, difficulties and content keys are unpacked up front.
+    private static QuestionSource read(Path file, long key) {
+        if (!Files.isRegularFile(file)) return null;
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Header checked with a plain read first, so a stale snapshot is never mapped: a mapping keeps
+            // the file locked on Windows until it's collected, and a stale one is about to be replaced
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && ch.read(header) > 0) {}
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) return null;
+            if (header.getLong() != key) return null;
+
+            // The mapping stays valid after the channel is closed
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            buf.position(HEADER_BYTES);
+
+            int count = buf.getInt();
+            int[] offsets = new int[count];
+            byte[] difficulties = new byte[count];
+            long[] keys = new long[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = buf.position();
+                byte kind = buf.get();
+                difficulties[i] = Difficulty.idOf(readString(buf));
+                keys[i] = buf.getLong();
+                skipRecord(buf, kind);
+            }
+            return new EncodedSource(buf.asReadOnlyBuffer(), offsets, difficulties, keys);
+        } catch (Exception e) {
+            Trivia.LOGGER.warn("[Trivia] Ignoring unreadable question cache {}.", file.getFileName(), e);
+            return null;
+        }
+    }
+
+    // Record layout: [kind][difficulty][content key] then, for KIND_PLAIN, [template][args][answers]
+    // and for KIND_DEX_ENTRY, [description][maskLength][variants][answers]
+    private static void skipRecord(ByteBuffer buf, byte kind) {
+        if (kind == KIND_DEX_ENTRY) {
+            skipString(buf);
+            buf.getInt();
+            skipStrings(buf);
+            skipStrings(buf);
+        } else if (kind == KIND_PLAIN) {
+            skipString(buf);
+            skipStrings(buf);
+            skipStrings(buf);
+        } else {
+            throw new IllegalStateException("Unknown question kind " + kind);
+        }
+    }
+
+    private record EncodedSource(ByteBuffer bytes, int[] offsets, byte[] difficulties, long[] keys) implements QuestionSource {
+        @Override
+        public int size() {
+            return offsets.length;
+        }
+
+        @Override
+        public String difficulty(int index) {
+            return Difficulty.nameOf(difficulties[index]);
+        }
+
+        @Override
+        public long contentKey(int index) {
+            return keys[index];
+        }
+
+        @Override
+        public Question get(int index) {
+            // A duplicate per call, so decoding is safe from any thread
+            ByteBuffer buf = bytes.duplicate().position(offsets[index]);
+            byte kind = buf.get();
+            String difficulty = readString(buf);
+            buf.getLong();
+            if (kind == KIND_DEX_ENTRY) {
+                return readDexEntry(buf);
+            }
+            String template = readString(buf);
+            List<String> args = readStrings(buf);
+            List<String> answers = readStrings(buf);
+            return new Question(template, args.toArray(new String[0]), answers, difficulty);
+        }
+    }
+
+    private static void write(Path file, long key, QuestionSource questions) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(key);
+                out.writeInt(questions.size());
+                for (int i = 0; i < questions.size(); i++) {
+                    Question q = questions.get(i);
+                    if (q instanceof DexEntryQuestion dex) {
+                        // Stored unmasked, like it is in memory
+                        out.writeByte(KIND_DEX_ENTRY);
+                        writeString(out, q.difficulty());
+                        out.writeLong(questions.contentKey(i));
+                        writeDexEntry(out, dex);
+                        continue;
+                    }
+                    out.writeByte(KIND_PLAIN);
+                    writeString(out, q.difficulty());
+                    out.writeLong(questions.contentKey(i));
+                    writeString(out, q.template());
+                    writeStrings(out, q.args());
+                    writeStrings(out, q.answers());
+                }
+            }
+
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Trivia.LOGGER.warn("[Trivia] Failed to write question cache {}.", file.getFileName(), e);
+        }
+    }
+
+    private static DexEntryQuestion readDexEntry(ByteBuffer buf) {
+        String description = readString(buf);
+        int maskLength = buf.getInt();
+        List<String> variants = readStrings(buf);
+        List<String> answers = readStrings(buf);
+        return new DexEntryQuestion(description, variants, maskLength, answers);
+    }
+
+    private static void writeDexEntry(DataOutputStream out, DexEntryQuestion q) throws IOException {
+        writeString(out, q.description());
+        out.writeInt(q.maskLength());
+        writeStrings(out, q.variants());
+        writeStrings(out, q.answers());
+    }
+
+    private static List<String> readStrings(ByteBuffer buf) {
+        int count = buf.getInt();
+        List<String> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            out.add(readString(buf));
+        }
+        return out;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String s : strings) {
+            writeString(out, s);
+        }
+    }
+
+    private static void skipStrings(ByteBuffer buf) {
+        int count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            skipString(buf);
+        }
+    }
+
+    private static void skipString(ByteBuffer buf) {
+        int length = buf.getInt();
+        buf.position(buf.position() + length);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
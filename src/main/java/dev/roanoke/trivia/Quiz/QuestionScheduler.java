@@ -0,0 +1,159 @@
+package dev.roanoke.trivia.Quiz;
+
+import dev.roanoke.trivia.Utils.AliasTable;
+
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+// Picks the next question to ask. Every draw is O(1) regardless of pool size:
+//  - a difficulty is chosen from an alias table over the configured difficulty weights,
+//  - within a difficulty, questions come out of a shuffled bag, so nothing repeats until the bag is used up,
+//  - a ring of the last N asked questions stops repeats across bag refills (and across difficulties).
+// Bags hold (source, index) references packed into a long, and a question is only built from its
+// QuestionSource once it's drawn. The ring holds content keys instead, so it can be handed to the
+// scheduler for a rebuilt pool (where the same question sits at a different ref).
+public class QuestionScheduler {
+
+    // Bounded retries when a draw hits the recent-history ring, so a tiny pool can't spin forever
+    private static final int MAX_REDRAWS = 8;
+
+    private final QuestionSource[] sources;
+    private final Bag[] bags;
+    private final AliasTable picker;
+    // content keys, oldest first from historyHead once full
+    private final long[] history;
+    private final Set<Long> recent;
+    private int historyHead = 0;
+    private int historySize = 0;
+    private final RandomGenerator rng;
+
+    /**
+     * @param weights    difficulty -> relative weight. Pools without an entry get weight 1.0; if the map is empty,
+     *                   every pool is weighted by its size, which is the same as picking uniformly over all questions.
+     * @param historySize how many recently asked questions can't come up again (0 disables)
+     */
+    public QuestionScheduler(List<QuestionSource> sources, Map<String, Double> weights, int historySize, RandomGenerator rng) {
+        this(sources, weights, historySize, rng, new long[0]);
+    }
+
+    /**
+     * @param askedBefore {@link #recentKeys()} of the scheduler this one replaces, so questions asked just
+     *                    before a pool rebuild still can't come straight back
+     */
+    public QuestionScheduler(List<QuestionSource> sources, Map<String, Double> weights, int historySize, RandomGenerator rng,
+                             long[] askedBefore) {
+        this.rng = rng;
+        this.sources = sources.toArray(new QuestionSource[0]);
+
+        // difficulty -> refs; counted first so each bag is a single exact-size array
+        Map<String, int[]> counts = new LinkedHashMap<>();
+        for (QuestionSource source : this.sources) {
+            for (int i = 0; i < source.size(); i++) {
+                counts.computeIfAbsent(source.difficulty(i), k -> new int[1])[0]++;
+            }
+        }
+        Map<String, long[]> byDifficulty = new LinkedHashMap<>();
+        Map<String, int[]> filled = new HashMap<>();
+        for (var entry : counts.entrySet()) {
+            byDifficulty.put(entry.getKey(), new long[entry.getValue()[0]]);
+            filled.put(entry.getKey(), new int[1]);
+        }
+        for (int s = 0; s < this.sources.length; s++) {
+            QuestionSource source = this.sources[s];
+            for (int i = 0; i < source.size(); i++) {
+                String difficulty = source.difficulty(i);
+                byDifficulty.get(difficulty)[filled.get(difficulty)[0]++] = ((long) s << 32) | i;
+            }
+        }
+
+        List<Bag> bagList = new ArrayList<>();
+        List<Double> weightList = new ArrayList<>();
+        for (var entry : byDifficulty.entrySet()) {
+            double w = weights.isEmpty()
+                    ? entry.getValue().length
+                    : weights.getOrDefault(entry.getKey(), 1.0);
+            if (w <= 0) continue; // weight 0 switches a pool off
+
+            bagList.add(new Bag(entry.getValue()));
+            weightList.add(w);
+        }
+
+        this.bags = bagList.toArray(new Bag[0]);
+        this.picker = bags.length == 0 ? null : new AliasTable(weightList.stream().mapToDouble(Double::doubleValue).toArray());
+
+        // Never block more than half the pool, or small pools would keep redrawing
+        int total = 0;
+        for (Bag b : bags) total += b.items.length;
+        int size = Math.max(0, Math.min(historySize, total / 2));
+        this.history = new long[size];
+        this.recent = new HashSet<>(size * 2);
+        for (long key : askedBefore) {
+            remember(key);
+        }
+    }
+
+    // Returns null if there is nothing to ask
+    public Question next() {
+        if (picker == null) return null;
+
+        // Redraw inside the chosen difficulty so the history ring doesn't skew the difficulty weights
+        Bag bag = bags[picker.sample(rng)];
+        long ref = bag.draw(rng);
+        long key = keyOf(ref);
+        for (int attempt = 0; attempt < MAX_REDRAWS && recent.contains(key); attempt++) {
+            ref = bag.draw(rng);
+            key = keyOf(ref);
+        }
+        remember(key);
+        return sources[(int) (ref >>> 32)].get((int) ref);
+    }
+
+    // The recent-history ring, oldest first
+    public long[] recentKeys() {
+        long[] out = new long[historySize];
+        int start = historySize == history.length ? historyHead : 0;
+        for (int i = 0; i < historySize; i++) {
+            out[i] = history[(start + i) % history.length];
+        }
+        return out;
+    }
+
+    private long keyOf(long ref) {
+        return sources[(int) (ref >>> 32)].contentKey((int) ref);
+    }
+
+    private void remember(long key) {
+        if (history.length == 0) return;
+
+        if (historySize == history.length) {
+            recent.remove(history[historyHead]);
+        } else {
+            historySize++;
+        }
+        history[historyHead] = key;
+        recent.add(key);
+        historyHead = (historyHead + 1) % history.length;
+    }
+
+    // Incremental Fisher-Yates: each draw swaps a random remaining item to the cursor. When the cursor
+    // hits the end every question has been asked once, and the next cycle starts over.
+    private static final class Bag {
+        final long[] items;
+        int cursor = 0;
+
+        Bag(long[] items) {
+            this.items = items;
+        }
+
+        long draw(RandomGenerator rng) {
+            if (cursor == items.length) cursor = 0;
+
+            int j = cursor + rng.nextInt(items.length - cursor);
+            long picked = items[j];
+            items[j] = items[cursor];
+            items[cursor] = picked;
+            cursor++;
+            return picked;
+        }
+    }
+}
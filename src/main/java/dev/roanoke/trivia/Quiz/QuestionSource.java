@@ -0,0 +1,90 @@
+package dev.roanoke.trivia.Quiz;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A fixed catalog of questions that are only built when the scheduler draws them, so what a pool costs in
+ * memory depends on what's asked rather than on how many questions it could produce. Question {@code i}
+ * must come out the same every time it's built; {@link #get} may be called from any thread.
+ */
+public interface QuestionSource {
+
+    int size();
+
+    /** The pool question {@code index} belongs to, without building it. */
+    String difficulty(int index);
+
+    /** Builds (or decodes) question {@code index}; may return a new instance on every call. */
+    Question get(int index);
+
+    /**
+     * {@link Question#contentKey()} of question {@code index}. Sources that know it up front override this,
+     * so deduplicating the pool doesn't build every question.
+     */
+    default long contentKey(int index) {
+        return get(index).contentKey();
+    }
+
+    /**
+     * A question that is only built when drawn.
+     *
+     * @param key the built question's {@link Question#contentKey()}, e.g. from {@link Question#contentKey(String, String[], List)}
+     */
+    record Candidate(String difficulty, long key, Supplier<Question> question) {}
+
+    /** Questions that already exist, e.g. from questions.json. */
+    static QuestionSource of(List<Question> questions) {
+        Question[] items = questions.toArray(new Question[0]);
+        return new QuestionSource() {
+            @Override
+            public int size() {
+                return items.length;
+            }
+
+            @Override
+            public String difficulty(int index) {
+                return items[index].difficulty();
+            }
+
+            @Override
+            public Question get(int index) {
+                return items[index];
+            }
+        };
+    }
+
+    /** Candidates built on demand; each supplier must be safe to call more than once and from any thread. */
+    @SuppressWarnings("unchecked")
+    static QuestionSource lazy(List<Candidate> candidates) {
+        byte[] difficulties = new byte[candidates.size()];
+        long[] keys = new long[candidates.size()];
+        Supplier<Question>[] builders = new Supplier[candidates.size()];
+        for (int i = 0; i < builders.length; i++) {
+            difficulties[i] = Difficulty.idOf(candidates.get(i).difficulty());
+            keys[i] = candidates.get(i).key();
+            builders[i] = candidates.get(i).question();
+        }
+        return new QuestionSource() {
+            @Override
+            public int size() {
+                return builders.length;
+            }
+
+            @Override
+            public String difficulty(int index) {
+                return Difficulty.nameOf(difficulties[index]);
+            }
+
+            @Override
+            public Question get(int index) {
+                return builders[index].get();
+            }
+
+            @Override
+            public long contentKey(int index) {
+                return keys[index];
+            }
+        };
+    }
+}
@@ -4,21 +4,42 @@ import com.google.gson.*;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
+import dev.roanoke.trivia.Config;
 import dev.roanoke.trivia.Trivia;
 import dev.roanoke.trivia.Reward.Reward;
 import dev.roanoke.trivia.Reward.RewardManager;
+import dev.roanoke.trivia.Utils.Workers;
 
 import java.io.*;
 import java.nio.file.Path;
-import java.text.Normalizer;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class QuizManager {
 
-    private Question currentQuestion = null;
-    private Long questionTime = System.currentTimeMillis();
-    private List<Question> questionPool = new ArrayList<>();
+    public static final Path QUESTIONS_PATH = FabricLoader.getInstance().getConfigDir().resolve("Trivia/questions.json");
+    public static final Path REWARDS_PATH = FabricLoader.getInstance().getConfigDir().resolve("Trivia/rewards.json");
+
+    // The question currently being asked; doubles as the claim token for the first right answer
+    private final AtomicReference<ActiveQuestion> current = new AtomicReference<>();
+    // questions.json vs generator output, kept apart so the file can be hot-reloaded on its own
+    private List<Question> curatedQuestions = new ArrayList<>();
+    private long[] curatedKeys = new long[0];
+    // generator id -> its questions (built when drawn) and their content keys
+    private final Map<String, QuestionSource> generatedSources = new LinkedHashMap<>();
+    private final Map<String, long[]> generatedKeys = new HashMap<>();
+    // curated + generated with duplicates collapsed; rebuilt whenever either changes
+    private List<QuestionSource> pool = List.of();
+    private int poolSize = 0;
     private RewardManager rewardManager = null;
+    // built lazily from the pool; dropped whenever the pool changes
+    private QuestionScheduler scheduler = null;
+    // what was recently asked (content keys, oldest first), carried over to the next scheduler so a
+    // pool rebuild or /trivia reload doesn't let those questions straight back in
+    private long[] askedHistory = new long[0];
+    // the settings the scheduler and askedHistory belong to; a change to either starts the history over
+    private Map<String, Double> scheduledWeights = null;
+    private int scheduledRepeatHistory = -1;
 
     public QuizManager() {
         try {
@@ -89,53 +110,51 @@ public class QuizManager {
 
     // Load the questions from the config file
     public void loadQuestions() {
-        // get the default fabric api config directory and then create a new file called "poketrivia.json"
-        Path questionsPath = FabricLoader.getInstance().getConfigDir().resolve("Trivia/questions.json");
-        // create a file from the path if it does not exist
-        File questionFile = questionsPath.toFile();
+        Trivia.LOGGER.info("Loading the questions...");
+        List<Question> loaded = readQuestions(QUESTIONS_PATH);
+        if (loaded == null) return;
 
+        curatedQuestions = loaded;
+        curatedKeys = QuestionDedupe.keys(QuestionSource.of(loaded));
+        rebuildPool();
+        Trivia.LOGGER.info("Loaded " + curatedQuestions.size() + " questions.");
+    }
 
-        // Read the JSON file
-        JsonElement root;
+    // Parses questions.json without touching any manager state, so it can run off the server thread.
+    // Returns null if the file can't be read.
+    public static List<Question> readQuestions(Path questionsPath) {
+        List<Question> questions = new ArrayList<>();
+
+        QuestionLoader.Result result;
         try {
-            root = JsonParser.parseReader(new FileReader(questionFile));
+            result = QuestionLoader.load(questionsPath, questions::add);
         } catch (Exception e) {
-            e.printStackTrace();
-            return;
+            Trivia.LOGGER.error("Failed to read {}: {}", questionsPath.getFileName(), e.getMessage());
+            return null;
         }
 
-        // Get the "questions" object
-        JsonObject questionsObj = root.getAsJsonObject();
-        Trivia.LOGGER.info("Loading the questions...");
-        // Loop over the difficulty levels
-        for (String difficulty : questionsObj.keySet()) {
-            JsonArray questionsArr = questionsObj.get(difficulty).getAsJsonArray();
-
-            // Loop over the questions in the difficulty level
-            for (JsonElement questionElem : questionsArr) {
-                JsonObject questionObj = questionElem.getAsJsonObject();
-
-                // Get the question text
-                String questionText = questionObj.get("question").getAsString();
-
-                // Get the list of answers
-                JsonArray answersArr = questionObj.get("answers").getAsJsonArray();
-                List<String> answers = new ArrayList<>();
-                for (JsonElement answerElem : answersArr) {
-                    answers.add(answerElem.getAsString().toLowerCase());
-                }
-
-                // Create the TriviaQuestion object and add it to the list
-                Question question = new Question(questionText, answers, difficulty);
-                questionPool.add(question);
-            }
+        for (var entry : result.counts.entrySet()) {
+            Trivia.LOGGER.info("Loaded {} '{}' questions.", entry.getValue(), entry.getKey());
+        }
+        for (String problem : result.malformed) {
+            Trivia.LOGGER.warn("Skipped malformed question at {}", problem);
         }
-        Trivia.LOGGER.info("Loaded " + questionPool.size() + " questions.");
+        for (String pool : result.rejectedPools) {
+            Trivia.LOGGER.error("Skipped the '{}' questions: too many different difficulties have been loaded since the "
+                    + "server started. Restart the server to load them.", pool);
+        }
+        return questions;
     }
 
     public void loadRewards() {
-        // get the default fabric api config directory and then create a new file called "poketrivia.json"
-        Path rewardsPath = FabricLoader.getInstance().getConfigDir().resolve("Trivia/rewards.json");
+        RewardManager loaded = readRewards(REWARDS_PATH);
+        if (loaded != null) {
+            rewardManager = loaded;
+        }
+    }
+
+    // Parses rewards.json into a fresh RewardManager; null if the file can't be read
+    public static RewardManager readRewards(Path rewardsPath) {
         // create a file from the path if it does not exist
         File rewardsFile = rewardsPath.toFile();
 
@@ -144,105 +163,208 @@ public class QuizManager {
             root = JsonParser.parseReader(new FileReader(rewardsFile));
         } catch (Exception e) {
             e.printStackTrace();
-            return;
+            return null;
         }
 
         JsonObject rewardsObj = root.getAsJsonObject();
-        rewardManager = new RewardManager(rewardsObj);
-    }
-
-    public Boolean quizInProgress() {
-        return currentQuestion != null;
+        return new RewardManager(rewardsObj);
     }
 
-    public Boolean isRightAnswer(String guess) {
-        String g = normalizeAnswer(guess);
+    // Replaces the questions.json part of the pool with a freshly parsed copy; generated questions are left alone.
+    // Unchanged entries keep their existing Question instance.
+    public void applyQuestionsFile(List<Question> fresh) {
+        Map<String, Question> existing = new HashMap<>();
+        for (Question q : curatedQuestions) {
+            existing.putIfAbsent(diffKey(q), q);
+        }
 
-        for (String answer : currentQuestion.answers) {
-            if (normalizeAnswer(answer).equals(g)) {
-                return true;
+        List<Question> merged = new ArrayList<>(fresh.size());
+        int unchanged = 0;
+        for (Question q : fresh) {
+            Question kept = existing.remove(diffKey(q));
+            if (kept != null) {
+                merged.add(kept);
+                unchanged++;
+            } else {
+                merged.add(q);
             }
         }
-        return false;
-    }
 
-    private static String normalizeAnswer(String s) {
-        if (s == null) return "";
+        curatedQuestions = merged;
+        curatedKeys = QuestionDedupe.keys(QuestionSource.of(merged));
+        rebuildPool();
+        Trivia.LOGGER.info("Applied questions.json changes: {} added, {} removed, {} unchanged. Total pool now {}.",
+                merged.size() - unchanged, existing.size(), unchanged, getQuestionCount());
+    }
 
-        // Normalize weird unicode (full-width chars etc), lowercase, trim
-        s = Normalizer.normalize(s, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).trim();
+    public RewardManager getRewardManager() {
+        return rewardManager;
+    }
 
-        // strip hidden-ability prefix if present
-        if (s.startsWith("h:")) s = s.substring(2).trim();
+    public void setRewardManager(RewardManager rewardManager) {
+        this.rewardManager = rewardManager;
+    }
 
-        // Strip accents (Flabébé -> flabebe)
-        s = Normalizer.normalize(s, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+    // Checks and pre-parses reward commands; needs the server's command tree, so it can't happen at load
+    public void compileRewards(MinecraftServer server) {
+        if (rewardManager != null) rewardManager.compile(server);
+    }
 
-        // Turn punctuation/underscores/hyphens into spaces, then split into tokens
-        s = s.replaceAll("[^a-z0-9]+", " ").trim();
-        if (s.isEmpty()) return "";
+    // Merges questions.json and every generator's output, collapsing duplicates (curated copies win)
+    private void rebuildPool() {
+        List<String> ids = new ArrayList<>(generatedSources.size() + 1);
+        List<QuestionSource> sources = new ArrayList<>(generatedSources.size() + 1);
+        List<long[]> keys = new ArrayList<>(generatedSources.size() + 1);
+        ids.add("questions.json");
+        sources.add(QuestionSource.of(curatedQuestions));
+        keys.add(curatedKeys);
+        for (var entry : generatedSources.entrySet()) {
+            ids.add(entry.getKey());
+            sources.add(entry.getValue());
+            keys.add(generatedKeys.get(entry.getKey()));
+        }
 
-        String[] parts = s.split("\\s+");
-        List<String> tokens = new ArrayList<>();
-        for (String p : parts) {
-            if (!p.isBlank()) tokens.add(p);
+        QuestionDedupe.Result result = QuestionDedupe.apply(ids, sources, keys);
+        pool = result.sources();
+        poolSize = result.size();
+        askedHistory = recentlyAsked();
+        scheduler = null;
+        if (!result.collapsed().isEmpty()) {
+            Trivia.LOGGER.info("Collapsed duplicate questions (per source): {}", result.collapsed());
         }
+    }
 
-        // Sort tokens so "yamask galarian" == "galarian yamask"
-        Collections.sort(tokens);
+    private static String diffKey(Question q) {
+        return q.difficulty() + '\0' + q.text() + '\0' + String.join("\0", q.answers());
+    }
+
+    public Boolean quizInProgress() {
+        return current.get() != null;
+    }
 
-        // Join into a single comparable key
-        return String.join("", tokens);
+    public Boolean isRightAnswer(String guess) {
+        ActiveQuestion asked = current.get();
+        return asked != null && asked.matches(guess);
+    }
+
+    // Called from the chat event. The guess is checked on the answer worker; the first right answer
+    // claims the question with a CAS, and only the winner's reward + broadcast go back to the server thread.
+    public void submitGuess(ServerPlayerEntity player, String guess) {
+        ActiveQuestion asked = current.get();
+        if (asked == null) return;
+
+        MinecraftServer server = player.server;
+        Workers.ANSWERS.execute(() -> {
+            if (!asked.matches(guess)) return;
+
+            // Lost the race: someone else answered first, or the question timed out / was replaced
+            if (!current.compareAndSet(asked, null)) return;
+
+            Trivia.LOGGER.info("Trivia question was answered correctly.");
+            server.execute(() -> processQuizWinner(player, server, asked));
+        });
     }
 
     public void startQuiz(MinecraftServer server) {
-        // Get a random question from the pool
-        currentQuestion = questionPool.get((int) (Math.random() * questionPool.size()));
+        // Get the next question from the scheduler (weighted by difficulty, no recent repeats)
+        Config.Settings settings = Trivia.getInstance().config.current();
+        if (!settings.difficultyWeights().equals(scheduledWeights) || settings.repeatHistory() != scheduledRepeatHistory) {
+            scheduler = null;
+            askedHistory = new long[0];
+        }
+        if (scheduler == null) {
+            scheduler = new QuestionScheduler(pool, settings.difficultyWeights(), settings.repeatHistory(),
+                    new SplittableRandom(), askedHistory);
+            scheduledWeights = settings.difficultyWeights();
+            scheduledRepeatHistory = settings.repeatHistory();
+        }
+        Question question = scheduler.next();
+        if (question == null) {
+            Trivia.LOGGER.warn("No questions available to ask; check questions.json and difficultyWeight settings.");
+            return;
+        }
+
+        // Typo tolerance is opt-in per difficulty; the matcher is built here so guesses only do lookups
+        int maxEdits = settings.fuzzyMaxEdits().getOrDefault(question.difficulty(), 0);
+        FuzzyAnswerMatcher matcher = maxEdits > 0 ? new FuzzyAnswerMatcher(question, maxEdits) : null;
 
-        server.getPlayerManager().getPlayerList().forEach(serverPlayer -> serverPlayer.sendMessage(
-                Trivia.messages.getDisplayText(
-                        Trivia.messages.getMessage("trivia.ask_question",
-                                Map.of("{question}", currentQuestion.question))
-                )
-        ));
+        // A fresh token per ask, so a late guess for an earlier ask of the same question can't claim this one
+        current.set(new ActiveQuestion(question, System.currentTimeMillis(), matcher));
 
-        // Set the time the question was asked
-        questionTime = System.currentTimeMillis();
+        Trivia.messages.broadcast(server, "trivia.ask_question", Map.of("{question}", question.text()));
     }
 
-    public void processQuizWinner(ServerPlayerEntity player, MinecraftServer server) {
-        Reward reward = rewardManager.giveReward(player, currentQuestion);
+    private void processQuizWinner(ServerPlayerEntity player, MinecraftServer server, ActiveQuestion asked) {
+        // Picked now so the broadcast can name it; actually handed out from the tick-budgeted dispatch queue
+        Reward reward = rewardManager == null ? null : rewardManager.pickReward(asked.question());
+        if (reward != null) {
+            Trivia.getInstance().rewardDispatcher.enqueue(player.getUuid(), reward);
+        }
+        long latencyMs = System.currentTimeMillis() - asked.askedAt();
+        Trivia.getInstance().stats.recordWin(player.getUuid(), asked.question().id(), asked.question().difficulty(),
+                (int) Math.min(latencyMs, Integer.MAX_VALUE), reward == null ? 0 : reward.id());
+
         Map<String, String> placeholders = new HashMap<>();
         placeholders.put("{player}", player.getGameProfile().getName());
-        placeholders.put("{reward}", reward.itemDisplayName == null ? "REWARD_ERROR" : reward.itemDisplayName);
-        placeholders.put("{time}", String.valueOf(((System.currentTimeMillis() - questionTime) / 1000)));
-        placeholders.put("{answer}", String.join(", ", currentQuestion.answers));
+        placeholders.put("{reward}", reward == null || reward.itemDisplayName == null ? "REWARD_ERROR" : reward.itemDisplayName);
+        placeholders.put("{time}", String.valueOf(latencyMs / 1000));
+        placeholders.put("{answer}", String.join(", ", asked.question().answers()));
 
-        server.getPlayerManager().getPlayerList().forEach(serverPlayer -> serverPlayer.sendMessage(
-                Trivia.messages.getDisplayText(
-                        Trivia.messages.getMessage("trivia.correct_answer", placeholders)
-                )
-        ));
-
-        currentQuestion = null;
+        Trivia.messages.broadcast(server, "trivia.correct_answer", placeholders);
+        Trivia.getInstance().quizTimer.onAnswered(server);
     }
 
     public void timeOutQuiz(MinecraftServer server) {
-        if (currentQuestion == null) {
+        // getAndSet makes the timeout and a winning guess mutually exclusive
+        ActiveQuestion asked = current.getAndSet(null);
+        if (asked == null) {
             return;
         }
         Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("{answer}", String.join(", ", currentQuestion.answers));
+        placeholders.put("{answer}", String.join(", ", asked.question().answers()));
+
+        Trivia.messages.broadcast(server, "trivia.no_answer", placeholders);
+    }
+
+    // Moves the in-flight question (if any) and the recent-question history over from the manager being
+    // replaced, so a reload doesn't eat a question players are answering or let recent ones straight back in.
+    // Late guesses against the old manager lose the CAS.
+    public void adoptInFlight(QuizManager previous) {
+        ActiveQuestion asked = previous.current.getAndSet(null);
+        if (asked != null) {
+            current.compareAndSet(null, asked);
+        }
+        askedHistory = previous.recentlyAsked();
+        scheduledWeights = previous.scheduledWeights;
+        scheduledRepeatHistory = previous.scheduledRepeatHistory;
+    }
 
-        server.getPlayerManager().getPlayerList().forEach(serverPlayer -> serverPlayer.sendMessage(
-                Trivia.messages.getDisplayText(Trivia.messages.getMessage("trivia.no_answer", placeholders)))
-        );
-        this.currentQuestion = null;
+    private long[] recentlyAsked() {
+        return scheduler != null ? scheduler.recentKeys() : askedHistory;
     }
 
-    public void addQuestions(List<Question> questions) {
-        if (questions == null || questions.isEmpty()) return;
-        questionPool.addAll(questions);
-        Trivia.LOGGER.info("Added {} auto-generated questions. Total pool now {}.", questions.size(), questionPool.size());
+    // After duplicates are collapsed
+    public int getQuestionCount() {
+        return poolSize;
+    }
+
+    public int getRewardCount() {
+        return rewardManager == null ? 0 : rewardManager.getRewardCount();
+    }
+
+    // Adds (or replaces) a generator's questions; see QuestionGenerators
+    public void addSource(String generatorId, QuestionSource source) {
+        if (source == null || source.size() == 0) return;
+        generatedKeys.put(generatorId, QuestionDedupe.keys(source));
+        generatedSources.put(generatorId, source);
+        rebuildPool();
+        Trivia.LOGGER.info("Added {} '{}' generated questions. Total pool now {}.", source.size(), generatorId, getQuestionCount());
+    }
+
+    // matcher is null when the question's pool only takes exact answers
+    private record ActiveQuestion(Question question, long askedAt, FuzzyAnswerMatcher matcher) {
+        boolean matches(String guess) {
+            return matcher != null ? matcher.matches(guess) : question.matches(guess);
+        }
     }
 }
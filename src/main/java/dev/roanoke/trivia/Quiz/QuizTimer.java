@@ -0,0 +1,108 @@
+package dev.roanoke.trivia.Quiz;
+
+import dev.roanoke.trivia.Config;
+import dev.roanoke.trivia.Trivia;
+import net.minecraft.server.MinecraftServer;
+
+// Decides when to ask and when to time out, as absolute server-tick deadlines: the tick handler is a single
+// comparison until a deadline is reached, and the config snapshot is only read when a phase starts.
+// The clock stops while nobody is online, so an empty server neither asks nor times out. Server thread only.
+public class QuizTimer {
+
+    // Start of the current phase (waiting for the next question, or asking one) and its length, in ticks
+    private long phaseStart = 0;
+    private int phaseLength = 0;
+    private boolean asking = false;
+
+    private long deadline = Long.MAX_VALUE;
+    // Tick the timer stopped at while the server is empty, -1 while running; starts paused since nobody is online yet
+    private long pausedAt = 0;
+    private int online = 0;
+
+    public void tick(MinecraftServer server) {
+        if (server.getTicks() < deadline) return;
+
+        QuizManager quiz = Trivia.getInstance().quiz;
+        if (asking) {
+            quiz.timeOutQuiz(server);
+            startWaiting(now(server));
+        } else {
+            ask(server, quiz);
+        }
+    }
+
+    // Next tick that's not paused starts a quiz (used on server start and by /trivia start)
+    public void askNow(MinecraftServer server) {
+        asking = false;
+        phaseStart = now(server);
+        phaseLength = 0;
+        updateDeadline();
+    }
+
+    // Asks a new question right away, replacing one that's in flight
+    public void askNowReplacing(MinecraftServer server) {
+        ask(server, Trivia.getInstance().quiz);
+    }
+
+    // The question was answered; the interval to the next one starts now
+    public void onAnswered(MinecraftServer server) {
+        if (asking) startWaiting(now(server));
+    }
+
+    // Restarts the wait for the next question (after a reload); a question that's in flight keeps its timeout
+    public void restartInterval(MinecraftServer server) {
+        if (!asking) startWaiting(now(server));
+    }
+
+    // Interval/timeout settings changed; the current phase is re-measured from when it started
+    public void configChanged() {
+        Config.Settings settings = Trivia.getInstance().config.current();
+        phaseLength = asking ? settings.quizTimeOutTicks() : settings.quizIntervalTicks();
+        updateDeadline();
+    }
+
+    public void onJoin(MinecraftServer server) {
+        if (online++ == 0 && pausedAt >= 0) {
+            // Shift the phase forward by however long the server was empty
+            phaseStart += server.getTicks() - pausedAt;
+            pausedAt = -1;
+            updateDeadline();
+        }
+    }
+
+    public void onLeave(MinecraftServer server) {
+        if (online > 0 && --online == 0) {
+            pausedAt = server.getTicks();
+            updateDeadline();
+        }
+    }
+
+    private void ask(MinecraftServer server, QuizManager quiz) {
+        quiz.startQuiz(server);
+        if (!quiz.quizInProgress()) {
+            // Nothing to ask; try again after another interval
+            startWaiting(now(server));
+            return;
+        }
+        asking = true;
+        phaseStart = now(server);
+        phaseLength = Trivia.getInstance().config.current().quizTimeOutTicks();
+        updateDeadline();
+    }
+
+    private void startWaiting(long now) {
+        asking = false;
+        phaseStart = now;
+        phaseLength = Trivia.getInstance().config.current().quizIntervalTicks();
+        updateDeadline();
+    }
+
+    // While paused the clock stands still at the tick it stopped
+    private long now(MinecraftServer server) {
+        return pausedAt >= 0 ? pausedAt : server.getTicks();
+    }
+
+    private void updateDeadline() {
+        deadline = pausedAt >= 0 ? Long.MAX_VALUE : phaseStart + phaseLength;
+    }
+}
@@ -0,0 +1,68 @@
+package dev.roanoke.trivia.Quiz;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.roanoke.trivia.Trivia;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.minecraft.resource.Resource;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Species JSON from the server's data packs (so datapack overrides and custom species are included),
+// lang from the installed Cobblemon jar. Failures are logged and treated as missing data.
+public final class ServerSpeciesSource implements SpeciesDataSource {
+
+    private final MinecraftServer server;
+
+    public ServerSpeciesSource(MinecraftServer server) {
+        this.server = server;
+    }
+
+    @Override
+    public JsonObject lang() {
+        ModContainer cobblemon = FabricLoader.getInstance().getModContainer("cobblemon").orElse(null);
+        if (cobblemon == null) return null;
+
+        Path langPath = cobblemon.findPath("assets/cobblemon/lang/en_us.json").orElse(null);
+        if (langPath == null) return null;
+
+        try (Reader r = Files.newBufferedReader(langPath, StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(r).getAsJsonObject();
+        } catch (Exception e) {
+            Trivia.LOGGER.warn("[Trivia] Failed reading Cobblemon en_us.json", e);
+            return null;
+        }
+    }
+
+    @Override
+    public List<SpeciesIndex.SpeciesFile> speciesFiles() {
+        List<SpeciesIndex.SpeciesFile> files = new ArrayList<>();
+        try {
+            Map<Identifier, Resource> speciesFiles = server.getResourceManager().findResources(
+                    "species",
+                    id -> id.getNamespace().equals("cobblemon") && id.getPath().endsWith(".json")
+            );
+            for (Map.Entry<Identifier, Resource> entry : speciesFiles.entrySet()) {
+                // e.g. cobblemon:species/custom/acideon.json -> speciesId = "acideon"
+                String speciesId = SpeciesIndex.filenameNoExt(entry.getKey().getPath()).toLowerCase(Locale.ROOT);
+                Resource resource = entry.getValue();
+                files.add(new SpeciesIndex.SpeciesFile(speciesId,
+                        () -> new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)));
+            }
+        } catch (Exception e) {
+            Trivia.LOGGER.warn("[Trivia] Failed reading Cobblemon species JSON.", e);
+        }
+        return files;
+    }
+}
@@ -0,0 +1,20 @@
+package dev.roanoke.trivia.Quiz;
+
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where Cobblemon's species and lang data comes from. {@link ServerSpeciesSource} reads the live server's
+ * data packs and the Cobblemon mod jar; {@link FixtureSpeciesSource} reads a directory or zip on disk,
+ * so generators can run without booting Minecraft.
+ */
+public interface SpeciesDataSource {
+
+    /** The parsed en_us.json, or null if there isn't one. */
+    JsonObject lang() throws IOException;
+
+    /** Every species JSON file; they are opened (and parsed) lazily by {@link SpeciesIndex#load}. */
+    List<SpeciesIndex.SpeciesFile> speciesFiles() throws IOException;
+}
@@ -0,0 +1,231 @@
+package dev.roanoke.trivia.Quiz;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.roanoke.trivia.Trivia;
+import dev.roanoke.trivia.Utils.Workers;
+import net.minecraft.server.MinecraftServer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+// One pass over Cobblemon's en_us.json + species JSON, shared by every generator.
+// The server's index is built lazily on first use and dropped whenever data packs reload;
+// load(SpeciesDataSource) builds one from anything else (e.g. fixtures on disk).
+public final class SpeciesIndex {
+
+    private static volatile SpeciesIndex current;
+
+    private final Map<String, String> langNames;
+    private final Map<String, String> descriptions;
+    private final List<Species> species;
+
+    private SpeciesIndex(Map<String, String> langNames, Map<String, String> descriptions, List<Species> species) {
+        this.langNames = langNames;
+        this.descriptions = descriptions;
+        this.species = species;
+    }
+
+    public static SpeciesIndex get(MinecraftServer server) {
+        SpeciesIndex index = current;
+        if (index != null) return index;
+
+        synchronized (SpeciesIndex.class) {
+            if (current == null) {
+                current = build(server);
+            }
+            return current;
+        }
+    }
+
+    public static void invalidate() {
+        current = null;
+    }
+
+    // speciesId -> display name, from en_us.json only
+    public Map<String, String> langNames() {
+        return langNames;
+    }
+
+    // speciesId -> dex entry text; en_us.json first, species JSON "pokedex" as a fallback for custom mons
+    public Map<String, String> descriptions() {
+        return descriptions;
+    }
+
+    public List<Species> species() {
+        return species;
+    }
+
+    public String nameOrDefault(String speciesId, String fallback) {
+        return langNames.getOrDefault(speciesId, fallback);
+    }
+
+    /**
+     * Everything the generators need from a species file; the Gson tree is dropped right after parsing.
+     * {@code name} is the species JSON "name" and may be null; {@code dexNumber} is 0 when missing.
+     */
+    public record Species(
+            String id,
+            String name,
+            boolean implemented,
+            String primaryType,
+            String secondaryType,
+            int dexNumber,
+            List<String> abilities,
+            List<String> eggGroups,
+            String preEvolution
+    ) {}
+
+    // ---------------- building ----------------
+
+    private static SpeciesIndex build(MinecraftServer server) {
+        long start = System.currentTimeMillis();
+        SpeciesIndex index;
+        try {
+            index = load(new ServerSpeciesSource(server));
+        } catch (IOException e) {
+            // ServerSpeciesSource logs its own failures; this is just for the interface
+            Trivia.LOGGER.warn("[Trivia] Failed reading Cobblemon species data.", e);
+            index = parse(null, List.of());
+        }
+
+        Trivia.LOGGER.info("[Trivia] Indexed {} Cobblemon species ({} names, {} dex entries) in {} ms.",
+                index.species.size(), index.langNames.size(), index.descriptions.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    /** Opens one species JSON file; the caller closes the reader. */
+    @FunctionalInterface
+    public interface Opener {
+        Reader open() throws IOException;
+    }
+
+    public record SpeciesFile(String speciesId, Opener opener) {}
+
+    /** Reads everything from {@code source} into a new index; not cached (see {@link #get} for the server's). */
+    public static SpeciesIndex load(SpeciesDataSource source) throws IOException {
+        return parse(source.lang(), source.speciesFiles());
+    }
+
+    /**
+     * Builds an index from an already-parsed en_us.json (may be null) and species JSON files, without touching
+     * the server or Fabric, so generators can run headless. Files that fail to parse are skipped.
+     */
+    public static SpeciesIndex parse(JsonObject lang, Collection<SpeciesFile> speciesFiles) {
+        Map<String, String> names = new HashMap<>();
+        Map<String, String> descs = new HashMap<>();
+        if (lang != null) readLang(lang, names, descs);
+
+        // Parse files in parallel on the generation pool; each file is independent
+        List<Parsed> parsed = Workers.GENERATION.submit(() -> speciesFiles.parallelStream()
+                .map(SpeciesIndex::parseFile)
+                .filter(Objects::nonNull)
+                .toList()
+        ).join();
+
+        List<Species> species = new ArrayList<>(parsed.size());
+        for (Parsed p : parsed) {
+            species.add(p.species());
+            if (p.pokedex() != null && !p.pokedex().isBlank()) {
+                descs.putIfAbsent(p.species().id(), p.pokedex());
+            }
+        }
+
+        // Stable order so seeded generation is reproducible regardless of resource map ordering
+        species.sort(Comparator.comparing(Species::id));
+
+        return new SpeciesIndex(Map.copyOf(names), Map.copyOf(descs), List.copyOf(species));
+    }
+
+    private static Parsed parseFile(SpeciesFile file) {
+        try (Reader r = file.opener().open()) {
+            JsonObject obj = JsonParser.parseReader(r).getAsJsonObject();
+            return new Parsed(parseSpecies(file.speciesId(), obj), extractPokedexFromSpeciesJson(obj));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private record Parsed(Species species, String pokedex) {}
+
+    private static Species parseSpecies(String speciesId, JsonObject obj) {
+        boolean implemented = !obj.has("implemented") || obj.get("implemented").getAsBoolean();
+        String name = obj.has("name") && obj.get("name").isJsonPrimitive() ? obj.get("name").getAsString() : null;
+
+        String primary = obj.has("primaryType") ? obj.get("primaryType").getAsString().toLowerCase(Locale.ROOT) : null;
+        String secondary = obj.has("secondaryType") ? obj.get("secondaryType").getAsString().toLowerCase(Locale.ROOT) : null;
+        int dex = obj.has("nationalPokedexNumber") ? obj.get("nationalPokedexNumber").getAsInt() : 0;
+
+        String preEvolution = null;
+        if (obj.has("preEvolution") && obj.get("preEvolution").isJsonPrimitive()) {
+            preEvolution = obj.get("preEvolution").getAsString().trim().toLowerCase(Locale.ROOT);
+        }
+
+        return new Species(speciesId, name, implemented, primary, secondary, dex,
+                lowerStrings(obj, "abilities"), lowerStrings(obj, "eggGroups"), preEvolution);
+    }
+
+    private static List<String> lowerStrings(JsonObject obj, String key) {
+        if (!obj.has(key) || !obj.get(key).isJsonArray()) return List.of();
+
+        List<String> out = new ArrayList<>();
+        for (JsonElement e : obj.getAsJsonArray(key)) {
+            if (e.isJsonPrimitive()) out.add(e.getAsString().trim().toLowerCase(Locale.ROOT));
+        }
+        return List.copyOf(out);
+    }
+
+    private static void readLang(JsonObject lang, Map<String, String> names, Map<String, String> descs) {
+        for (String key : lang.keySet()) {
+            if (!key.startsWith("cobblemon.species.")) continue;
+
+            if (key.endsWith(".name")) {
+                String speciesId = key.substring("cobblemon.species.".length(), key.length() - ".name".length())
+                        .toLowerCase(Locale.ROOT);
+                names.put(speciesId, lang.get(key).getAsString());
+            } else if (key.endsWith(".desc")) {
+                String speciesId = key.substring("cobblemon.species.".length(), key.length() - ".desc".length())
+                        .toLowerCase(Locale.ROOT);
+                descs.put(speciesId, lang.get(key).getAsString());
+            }
+        }
+    }
+
+    // Optional fallback: if custom species don’t have lang entries but do have a pokedex field
+    private static String extractPokedexFromSpeciesJson(JsonObject obj) {
+        if (!obj.has("pokedex")) return null;
+        JsonElement p = obj.get("pokedex");
+
+        // Sometimes it might just be a string
+        if (p.isJsonPrimitive() && p.getAsJsonPrimitive().isString()) {
+            return p.getAsString();
+        }
+
+        if (!p.isJsonObject()) return null;
+        JsonObject po = p.getAsJsonObject();
+
+        // common guesses
+        if (po.has("entry") && po.get("entry").isJsonPrimitive()) return po.get("entry").getAsString();
+        if (po.has("text") && po.get("text").isJsonPrimitive()) return po.get("text").getAsString();
+
+        // try entries array: [{ "text": "..." }, ...]
+        if (po.has("entries") && po.get("entries").isJsonArray()) {
+            JsonArray arr = po.getAsJsonArray("entries");
+            if (!arr.isEmpty() && arr.get(0).isJsonObject()) {
+                JsonObject first = arr.get(0).getAsJsonObject();
+                if (first.has("text") && first.get("text").isJsonPrimitive()) return first.get("text").getAsString();
+            }
+        }
+
+        return null;
+    }
+
+    static String filenameNoExt(String path) {
+        int slash = path.lastIndexOf('/');
+        String file = (slash >= 0) ? path.substring(slash + 1) : path;
+        return file.endsWith(".json") ? file.substring(0, file.length() - 5) : file;
+    }
+}
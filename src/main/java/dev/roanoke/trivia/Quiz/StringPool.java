@@ -0,0 +1,33 @@
+package dev.roanoke.trivia.Quiz;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Shared intern table for question data. Generated questions repeat the same handful of answers,
+// difficulties and templates thousands of times; this keeps one copy of each.
+// Only meant for those low-cardinality values: one-off strings like a curated question's full text or a
+// dex description gain nothing from it. Entries are weak, so strings no live question uses anymore (after
+// a reload, say) are dropped instead of piling up for the server's lifetime.
+// Synchronized because questions can be built from any thread.
+public final class StringPool {
+
+    // WeakHashMap holds its keys weakly; the value must not point back at the key strongly
+    private static final Map<String, WeakReference<String>> POOL = new WeakHashMap<>();
+
+    private StringPool() {}
+
+    public static synchronized String intern(String s) {
+        if (s == null) return null;
+        WeakReference<String> ref = POOL.get(s);
+        String existing = ref == null ? null : ref.get();
+        if (existing != null) return existing;
+
+        POOL.put(s, new WeakReference<>(s));
+        return s;
+    }
+
+    public static synchronized int size() {
+        return POOL.size();
+    }
+}
@@ -0,0 +1,79 @@
+package dev.roanoke.trivia.Reward;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A reward command split once into literal text and player placeholders (%player%, {player}, @p, %uuid%),
+// so filling it in is a single append pass instead of a String.replace per placeholder.
+public final class CommandTemplate {
+
+    private static final String[] NAME_TOKENS = {"%player%", "{player}", "@p"};
+    private static final String UUID_TOKEN = "%uuid%";
+
+    // literals.length == slots.length + 1; slots[i] sits between literals[i] and literals[i + 1]
+    private final String[] literals;
+    private final boolean[] uuidSlots;
+    private final int literalLength;
+
+    private CommandTemplate(String[] literals, boolean[] uuidSlots) {
+        this.literals = literals;
+        this.uuidSlots = uuidSlots;
+        int len = 0;
+        for (String l : literals) len += l.length();
+        this.literalLength = len;
+    }
+
+    public static CommandTemplate compile(String raw) {
+        String cmd = raw == null ? "" : raw.trim();
+        // executeWithPrefix used to accept commands with or without a leading "/"
+        if (cmd.startsWith("/")) cmd = cmd.substring(1);
+
+        List<String> literals = new ArrayList<>();
+        List<Boolean> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        scan:
+        while (i < cmd.length()) {
+            for (String token : NAME_TOKENS) {
+                if (cmd.startsWith(token, i)) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    slots.add(false);
+                    i += token.length();
+                    continue scan;
+                }
+            }
+            if (cmd.startsWith(UUID_TOKEN, i)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(true);
+                i += UUID_TOKEN.length();
+                continue;
+            }
+            literal.append(cmd.charAt(i++));
+        }
+        literals.add(literal.toString());
+
+        boolean[] uuidSlots = new boolean[slots.size()];
+        for (int s = 0; s < uuidSlots.length; s++) uuidSlots[s] = slots.get(s);
+        return new CommandTemplate(literals.toArray(new String[0]), uuidSlots);
+    }
+
+    // True when the command has no player placeholders, i.e. it's the same text for every winner
+    public boolean isStatic() {
+        return uuidSlots.length == 0;
+    }
+
+    public String render(String name, String uuid) {
+        if (isStatic()) return literals[0];
+
+        StringBuilder sb = new StringBuilder(literalLength + uuidSlots.length * 36);
+        sb.append(literals[0]);
+        for (int s = 0; s < uuidSlots.length; s++) {
+            sb.append(uuidSlots[s] ? uuid : name);
+            sb.append(literals[s + 1]);
+        }
+        return sb.toString();
+    }
+}
@@ -1,8 +1,12 @@
 package dev.roanoke.trivia.Reward;
 
+import com.mojang.brigadier.ParseResults;
 import dev.roanoke.trivia.Trivia;
+import dev.roanoke.trivia.Utils.Hashing;
 import net.minecraft.item.ItemStack;
 import net.minecraft.registry.Registries;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.util.Identifier;
 
 public class Reward {
@@ -12,17 +16,42 @@ public class Reward {
     public Integer quantity;        // optional (defaults to 1)
     public ItemStack itemStack;     // nullable -> command-only reward
     public String command;          // optional
+    public double weight;           // optional (defaults to 1), relative to the other rewards in the pool
+    public CommandTemplate compiledCommand;
+
+    // Parse of a placeholder-free command, only valid for the CommandManager it was parsed against
+    // (a data pack reload replaces the command tree)
+    private ParseResults<ServerCommandSource> parsedCommand;
+    private CommandManager parsedWith;
 
     public Reward(String itemName, String itemDisplayName, Integer quantity, String command) {
+        this(itemName, itemDisplayName, quantity, command, 1.0);
+    }
+
+    public Reward(String itemName, String itemDisplayName, Integer quantity, String command, double weight) {
         this.itemName = (itemName == null) ? "" : itemName;
         this.itemDisplayName = (itemDisplayName == null) ? "" : itemDisplayName;
         this.quantity = (quantity == null || quantity <= 0) ? 1 : quantity;
         this.command = (command == null) ? "" : command;
+        this.weight = weight;
+        this.compiledCommand = CommandTemplate.compile(this.command);
 
         this.itemStack = getItemStack(this.itemName, this.quantity);
 
-        Trivia.LOGGER.info("Reward loaded: display='{}' item='{}' qty={} hasItem={} command='{}'",
-                this.itemDisplayName, this.itemName, this.quantity, hasItem(), this.command);
+        Trivia.LOGGER.info("Reward loaded: display='{}' item='{}' qty={} hasItem={} command='{}' weight={}",
+                this.itemDisplayName, this.itemName, this.quantity, hasItem(), this.command, this.weight);
+    }
+
+    // Stable id for stats, from what the reward actually gives
+    public long id() {
+        return Hashing.fnv64(itemName, String.valueOf(quantity), command);
+    }
+
+    // Short name for logs and /trivia rewards simulate
+    public String label() {
+        if (!itemDisplayName.isBlank()) return itemDisplayName;
+        if (!itemName.isBlank()) return itemName;
+        return "/" + compiledCommand.render("%player%", "%uuid%");
     }
 
     public boolean hasCommand() {
@@ -33,6 +62,15 @@ public class Reward {
         return itemStack != null && !itemStack.isEmpty();
     }
 
+    ParseResults<ServerCommandSource> cachedParse(CommandManager manager) {
+        return parsedWith == manager ? parsedCommand : null;
+    }
+
+    void cacheParse(CommandManager manager, ParseResults<ServerCommandSource> parse) {
+        this.parsedWith = parse == null ? null : manager;
+        this.parsedCommand = parse;
+    }
+
     public boolean isValid() {
         return hasItem() || hasCommand();
     }
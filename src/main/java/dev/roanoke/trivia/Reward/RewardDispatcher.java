@@ -0,0 +1,189 @@
+package dev.roanoke.trivia.Reward;
+
+import com.google.gson.*;
+import dev.roanoke.trivia.Trivia;
+import dev.roanoke.trivia.Utils.Workers;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Rewards are queued when someone wins and handed out from the server tick, a few per tick within a
+// time budget, so a heavy reward command can't spike the tick that processed the answer.
+// Rewards for players who left before delivery are held until they log back in. Everything undelivered is
+// saved whenever it changes (written on the background worker), so a crash doesn't lose it; at worst a reward
+// delivered just before a crash is handed out again.
+// Server thread only, apart from the writes.
+public class RewardDispatcher {
+
+    private final Path pendingFile;
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private final Map<UUID, List<Pending>> offline = new HashMap<>();
+    // Latest undelivered snapshot waiting to be written; set while a write is queued, so a burst of
+    // changes ends up as one write
+    private final AtomicReference<List<Pending>> unsaved = new AtomicReference<>();
+
+    // metrics
+    private long dispatched = 0;
+    private long totalLatencyNanos = 0;
+    private long maxLatencyNanos = 0;
+    private int peakDepth = 0;
+
+    public RewardDispatcher(Path pendingFile) {
+        this.pendingFile = pendingFile;
+    }
+
+    public void enqueue(UUID player, Reward reward) {
+        queue.addLast(new Pending(player, reward, System.nanoTime()));
+        peakDepth = Math.max(peakDepth, queue.size());
+        changed();
+    }
+
+    public boolean isIdle() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Delivers queued rewards until {@code maxPerTick} have gone out or {@code budgetNanos} has elapsed.
+     * At least one reward is delivered per tick while the queue is non-empty, so the queue always drains.
+     */
+    public void tick(MinecraftServer server, int maxPerTick, long budgetNanos) {
+        if (queue.isEmpty()) return;
+
+        long start = System.nanoTime();
+        int delivered = 0;
+        while (!queue.isEmpty() && delivered < maxPerTick
+                && (delivered == 0 || System.nanoTime() - start < budgetNanos)) {
+            Pending p = queue.pollFirst();
+
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(p.player());
+            if (player == null) {
+                offline.computeIfAbsent(p.player(), k -> new ArrayList<>()).add(p);
+                continue;
+            }
+
+            try {
+                RewardManager.deliver(player, p.reward());
+            } catch (Exception e) {
+                Trivia.LOGGER.error("Failed to deliver reward '{}' to {}", p.reward().itemDisplayName, p.player(), e);
+            }
+
+            long latency = System.nanoTime() - p.enqueuedAt();
+            dispatched++;
+            totalLatencyNanos += latency;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+            delivered++;
+        }
+        changed();
+    }
+
+    // Re-queues anything held for a player who just came back online
+    public void onJoin(ServerPlayerEntity player) {
+        List<Pending> held = offline.remove(player.getUuid());
+        if (held == null) return;
+
+        for (Pending p : held) {
+            queue.addLast(new Pending(p.player(), p.reward(), System.nanoTime()));
+        }
+        peakDepth = Math.max(peakDepth, queue.size());
+        Trivia.LOGGER.info("Delivering {} held trivia reward(s) to {}", held.size(), player.getGameProfile().getName());
+    }
+
+    public String stats() {
+        int held = 0;
+        for (List<Pending> list : offline.values()) held += list.size();
+        double avgMs = dispatched == 0 ? 0 : totalLatencyNanos / 1_000_000.0 / dispatched;
+
+        return String.format(Locale.ROOT,
+                "Reward queue: %d queued (peak %d), %d held for offline players. Delivered %d, latency avg %.1f ms / max %.1f ms.",
+                queue.size(), peakDepth, held, dispatched, avgMs, maxLatencyNanos / 1_000_000.0);
+    }
+
+    // ---------------- persistence ----------------
+
+    // Queues a write of everything not yet delivered (queued or held); re-held on startup
+    private void changed() {
+        if (unsaved.getAndSet(undelivered()) == null) {
+            Workers.BACKGROUND.execute(this::flush);
+        }
+    }
+
+    // Writes now (on shutdown, since the worker threads are daemons)
+    public void save() {
+        unsaved.set(undelivered());
+        flush();
+    }
+
+    private List<Pending> undelivered() {
+        List<Pending> out = new ArrayList<>(queue);
+        for (List<Pending> list : offline.values()) out.addAll(list);
+        return out;
+    }
+
+    // Synchronized so a newer snapshot is never overwritten by an older one still being written
+    private synchronized void flush() {
+        List<Pending> pending = unsaved.getAndSet(null);
+        if (pending == null) return;
+
+        JsonArray arr = new JsonArray();
+        for (Pending p : pending) arr.add(toJson(p));
+
+        try {
+            if (arr.isEmpty()) {
+                Files.deleteIfExists(pendingFile);
+                return;
+            }
+            Files.createDirectories(pendingFile.getParent());
+            Path tmp = pendingFile.resolveSibling(pendingFile.getFileName() + ".tmp");
+            try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(arr, w);
+            }
+            Files.move(tmp, pendingFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Trivia.LOGGER.error("Failed to save pending trivia rewards", e);
+        }
+    }
+
+    public void load() {
+        if (!Files.exists(pendingFile)) return;
+
+        try (Reader r = Files.newBufferedReader(pendingFile, StandardCharsets.UTF_8)) {
+            int count = 0;
+            for (JsonElement e : JsonParser.parseReader(r).getAsJsonArray()) {
+                JsonObject o = e.getAsJsonObject();
+                UUID player = UUID.fromString(o.get("player").getAsString());
+                Reward reward = new Reward(
+                        o.has("item_name") ? o.get("item_name").getAsString() : "",
+                        o.has("display_name") ? o.get("display_name").getAsString() : "",
+                        o.has("quantity") ? o.get("quantity").getAsInt() : 1,
+                        o.has("command") ? o.get("command").getAsString() : ""
+                );
+                offline.computeIfAbsent(player, k -> new ArrayList<>()).add(new Pending(player, reward, System.nanoTime()));
+                count++;
+            }
+            Trivia.LOGGER.info("Loaded {} undelivered trivia reward(s).", count);
+        } catch (Exception e) {
+            Trivia.LOGGER.error("Failed to load pending trivia rewards from {}", pendingFile.getFileName(), e);
+        }
+    }
+
+    private static JsonObject toJson(Pending p) {
+        JsonObject o = new JsonObject();
+        o.addProperty("player", p.player().toString());
+        o.addProperty("item_name", p.reward().itemName);
+        o.addProperty("display_name", p.reward().itemDisplayName);
+        o.addProperty("quantity", p.reward().quantity);
+        o.addProperty("command", p.reward().command);
+        return o;
+    }
+
+    private record Pending(UUID player, Reward reward, long enqueuedAt) {}
+}
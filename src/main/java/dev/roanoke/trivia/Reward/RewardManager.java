@@ -3,18 +3,33 @@ package dev.roanoke.trivia.Reward;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import dev.roanoke.trivia.Quiz.Question;
 import dev.roanoke.trivia.Trivia;
+import dev.roanoke.trivia.Utils.AliasTable;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class RewardManager {
 
+    // Stand-ins used to check that templated commands parse once a real player is filled in
+    private static final String SAMPLE_NAME = "Trivia";
+    private static final String SAMPLE_UUID = "00000000-0000-0000-0000-000000000000";
+
     private final HashMap<String, ArrayList<Reward>> rewardPools = new HashMap<>();
+    // difficulty -> alias table over rewardPools.get(difficulty), by reward weight
+    private final HashMap<String, AliasTable> rewardTables = new HashMap<>();
 
     public RewardManager(JsonObject rewardsObj) {
         Trivia.LOGGER.info("Loading rewards...");
@@ -31,8 +46,17 @@ public class RewardManager {
                 Integer quantity = rewardObj.has("quantity") ? rewardObj.get("quantity").getAsInt() : 1;
 
                 String command = rewardObj.has("command") ? rewardObj.get("command").getAsString() : "";
+                double weight = rewardObj.has("weight") ? rewardObj.get("weight").getAsDouble() : 1.0;
 
-                Reward reward = new Reward(itemName, displayName, quantity, command);
+                // 0 is a handy way to switch a reward off without deleting it
+                if (!(weight > 0) || Double.isInfinite(weight)) {
+                    if (weight != 0) {
+                        Trivia.LOGGER.warn("Skipping reward with invalid weight {} in '{}': {}", weight, difficulty, rewardObj);
+                    }
+                    continue;
+                }
+
+                Reward reward = new Reward(itemName, displayName, quantity, command, weight);
 
                 // Only skip if it's neither an item nor a command
                 if (!reward.isValid()) {
@@ -45,32 +69,135 @@ public class RewardManager {
         }
 
         for (String difficulty : rewardPools.keySet()) {
-            System.out.println("Loaded " + rewardPools.get(difficulty).size() + " rewards for difficulty " + difficulty);
+            ArrayList<Reward> rewards = rewardPools.get(difficulty);
+            double[] weights = new double[rewards.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = rewards.get(i).weight;
+            }
+            rewardTables.put(difficulty, new AliasTable(weights));
+
+            Trivia.LOGGER.info("Loaded {} rewards for difficulty {}", rewards.size(), difficulty);
         }
     }
 
-    public Reward giveReward(ServerPlayerEntity player, Question question) {
-        if (!rewardPools.containsKey(question.difficulty)) return null;
+    public int getRewardCount() {
+        int count = 0;
+        for (ArrayList<Reward> rewards : rewardPools.values()) {
+            count += rewards.size();
+        }
+        return count;
+    }
 
-        ArrayList<Reward> rewards = rewardPools.get(question.difficulty);
-        Reward reward = rewards.get((int) (Math.random() * rewards.size()));
+    /**
+     * Parses every reward command against the server's command tree so broken ones are reported now rather
+     * than silently doing nothing when someone wins. Commands without player placeholders keep their parse
+     * for delivery. Call on the server thread, again after anything that replaces the command tree.
+     */
+    public void compile(MinecraftServer server) {
+        CommandManager manager = server.getCommandManager();
+        ServerCommandSource source = server.getCommandSource().withLevel(4).withSilent();
+
+        int commands = 0;
+        int broken = 0;
+        for (Map.Entry<String, ArrayList<Reward>> pool : rewardPools.entrySet()) {
+            for (Reward reward : pool.getValue()) {
+                if (!reward.hasCommand()) continue;
+                commands++;
+
+                String cmd = reward.compiledCommand.render(SAMPLE_NAME, SAMPLE_UUID);
+                ParseResults<ServerCommandSource> parse = manager.getDispatcher().parse(cmd, source);
+                CommandSyntaxException error = CommandManager.getException(parse);
+                if (error != null) {
+                    Trivia.LOGGER.warn("Reward command in '{}' does not parse: '{}' ({})",
+                            pool.getKey(), reward.command, error.getMessage());
+                    reward.cacheParse(manager, null);
+                    broken++;
+                    continue;
+                }
 
+                // Redirected commands (execute ... run) carry a source per stage, so only plain ones are reused
+                boolean reusable = reward.compiledCommand.isStatic() && parse.getContext().getChild() == null;
+                reward.cacheParse(manager, reusable ? parse : null);
+            }
+        }
+
+        if (broken > 0) {
+            Trivia.LOGGER.warn("{} of {} reward commands failed to parse; they will fail when won until fixed.", broken, commands);
+        }
+    }
+
+    public Set<String> getDifficulties() {
+        return rewardPools.keySet();
+    }
+
+    // Picks the reward for a question without giving it; delivery goes through the RewardDispatcher
+    public Reward pickReward(Question question) {
+        return pickReward(question.difficulty(), ThreadLocalRandom.current());
+    }
+
+    // Weighted pick from a difficulty's pool, O(1) via the alias table; null if the pool has no rewards
+    public Reward pickReward(String difficulty, RandomGenerator rng) {
+        AliasTable table = rewardTables.get(difficulty);
+        if (table == null) return null;
+        return rewardPools.get(difficulty).get(table.sample(rng));
+    }
+
+    /**
+     * Draws {@code draws} rewards from a pool without giving them, for checking weights.
+     * Returns each reward with how often it came up, in rewards.json order; empty if the pool doesn't exist.
+     */
+    public Map<Reward, Integer> simulate(String difficulty, int draws, RandomGenerator rng) {
+        ArrayList<Reward> rewards = rewardPools.get(difficulty);
+        if (rewards == null) return Map.of();
+
+        AliasTable table = rewardTables.get(difficulty);
+        int[] counts = new int[rewards.size()];
+        for (int i = 0; i < draws; i++) {
+            counts[table.sample(rng)]++;
+        }
+
+        Map<Reward, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            result.put(rewards.get(i), counts[i]);
+        }
+        return result;
+    }
+
+    // Configured share of the pool for a reward, for comparing against simulate()
+    public double expectedShare(String difficulty, Reward reward) {
+        double total = 0;
+        for (Reward r : rewardPools.getOrDefault(difficulty, new ArrayList<>())) {
+            total += r.weight;
+        }
+        return total == 0 ? 0 : reward.weight / total;
+    }
+
+    // Runs the reward command and/or gives the item. Must be called on the server thread with an online player.
+    public static void deliver(ServerPlayerEntity player, Reward reward) {
         MinecraftServer server = player.getServer();
 
         // 1) Execute command reward (if present)
         if (server != null && reward.hasCommand()) {
             // Give commands player context (@s etc) + keep server permission level
             ServerCommandSource source = server.getCommandSource()
-                    .withLevel(4)                 // method exists :contentReference[oaicite:1]{index=1}
-                    .withEntity(player)           // method exists :contentReference[oaicite:2]{index=2}
-                    .withWorld(player.getServerWorld()) // method exists :contentReference[oaicite:3]{index=3}
-                    .withPosition(player.getPos())      // method exists :contentReference[oaicite:4]{index=4}
-                    .withSilent();               // method exists :contentReference[oaicite:5]{index=5}
-
-            String cmd = applyPlaceholders(reward.command, player);
-
-            // executeWithPrefix allows commands with or without a leading "/" :contentReference[oaicite:6]{index=6}
-            server.getCommandManager().executeWithPrefix(source, cmd);
+                    .withLevel(4)
+                    .withEntity(player)
+                    .withWorld(player.getServerWorld())
+                    .withPosition(player.getPos())
+                    .withSilent();
+
+            CommandManager manager = server.getCommandManager();
+            ParseResults<ServerCommandSource> parse = reward.cachedParse(manager);
+            String cmd;
+            if (parse != null) {
+                // Arguments like selectors and positions resolve against the source at execution, not parse
+                parse.getContext().withSource(source);
+                cmd = reward.compiledCommand.render(null, null);
+            } else {
+                cmd = reward.compiledCommand.render(player.getName().getString(), player.getUuidAsString());
+                parse = manager.getDispatcher().parse(cmd, source);
+            }
+            manager.execute(parse, cmd);
         }
 
         // 2) Give item reward (if present)
@@ -79,19 +206,5 @@ public class RewardManager {
                 player.dropItem(reward.itemStack.copy(), false);
             }
         }
-
-        return reward;
-    }
-
-    private static String applyPlaceholders(String cmd, ServerPlayerEntity player) {
-        if (cmd == null) return "";
-        String name = player.getName().getString();
-        String uuid = player.getUuidAsString();
-
-        return cmd
-                .replace("%player%", name)
-                .replace("{player}", name)
-                .replace("@p", name)     // keep your old style working
-                .replace("%uuid%", uuid);
     }
 }
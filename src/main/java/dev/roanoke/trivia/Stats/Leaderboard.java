@@ -0,0 +1,57 @@
+package dev.roanoke.trivia.Stats;
+
+import java.util.*;
+
+// Players ranked by wins (then by lower total answer time), kept sorted as wins come in and expire,
+// so reading the top of the board or a player's rank never re-sorts anything.
+public final class Leaderboard {
+
+    public record Entry(UUID player, int wins, long totalLatencyMs) {
+        public long averageLatencyMs() {
+            return wins == 0 ? 0 : totalLatencyMs / wins;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::wins).reversed()
+            .thenComparingLong(Entry::totalLatencyMs)
+            .thenComparing(Entry::player);
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(ORDER);
+
+    // Negative values take wins back out (used when they fall out of a time window)
+    void add(UUID player, int wins, long latencyMs) {
+        Entry old = entries.get(player);
+        if (old != null) ranked.remove(old);
+
+        Entry updated = old == null
+                ? new Entry(player, wins, latencyMs)
+                : new Entry(player, old.wins() + wins, old.totalLatencyMs() + latencyMs);
+
+        if (updated.wins() <= 0) {
+            entries.remove(player);
+            return;
+        }
+        entries.put(player, updated);
+        ranked.add(updated);
+    }
+
+    public List<Entry> top(int k) {
+        List<Entry> out = new ArrayList<>(Math.min(k, ranked.size()));
+        for (Entry e : ranked) {
+            if (out.size() == k) break;
+            out.add(e);
+        }
+        return out;
+    }
+
+    public Entry get(UUID player) {
+        return entries.get(player);
+    }
+
+    // 1-based rank, or 0 if the player isn't on the board
+    public int rank(UUID player) {
+        Entry e = entries.get(player);
+        return e == null ? 0 : ranked.headSet(e).size() + 1;
+    }
+}
@@ -0,0 +1,245 @@
+package dev.roanoke.trivia.Stats;
+
+import dev.roanoke.trivia.Trivia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only binary log split into numbered segment files (wins-000001.log, ...).
+// Each record is [int length][int crc32][payload]. A record cut short by a crash fails its length or CRC
+// check and is truncated away on the next open, so at most the last win before the crash is lost.
+// A compacted segment is marked as a base: every segment numbered below it is obsolete.
+final class StatsLog {
+
+    private static final int MAGIC = 0x54525653; // "TRVS"
+    private static final int VERSION = 1;
+    private static final byte KIND_APPEND = 0;
+    private static final byte KIND_BASE = 1;
+    private static final int HEADER_BYTES = 9;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 16;
+    private static final long SEGMENT_BYTES = 4L << 20;
+
+    private final Path dir;
+    private FileChannel out;
+    private int outSegment;
+
+    StatsLog(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Reads every live record in order and leaves the log ready for appends.
+     * Obsolete segments (below the newest base) are deleted; a damaged tail on the last segment is cut off.
+     */
+    List<byte[]> open() throws IOException {
+        Files.createDirectories(dir);
+        List<Integer> segments = listSegments();
+
+        int firstLive = 0;
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            if (readKind(segmentPath(segments.get(i))) == KIND_BASE) {
+                firstLive = i;
+                break;
+            }
+        }
+        // Left over from a compaction that was interrupted after its base segment was in place
+        for (int i = 0; i < firstLive; i++) {
+            Files.deleteIfExists(segmentPath(segments.get(i)));
+        }
+        segments = segments.subList(firstLive, segments.size());
+
+        List<byte[]> records = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            readSegment(segmentPath(segments.get(i)), records, i == segments.size() - 1);
+        }
+
+        int last = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        if (last == 0 || Files.size(segmentPath(last)) >= SEGMENT_BYTES || readKind(segmentPath(last)) < 0) {
+            startSegment(last + 1, KIND_APPEND);
+        } else {
+            openForAppend(last);
+        }
+        return records;
+    }
+
+    void append(byte[] payload) throws IOException {
+        if (out.size() + RECORD_HEADER_BYTES + payload.length > SEGMENT_BYTES) {
+            out.close();
+            startSegment(outSegment + 1, KIND_APPEND);
+        }
+        writeFully(out, frame(payload));
+    }
+
+    /**
+     * Replaces the whole log with {@code payloads}: written as a new base segment, moved into place
+     * atomically, then the old segments are deleted. A crash at any point leaves either the old or the new log.
+     * Whatever fails, the log is left open for appends (to the new base if it made it into place, else the old segment).
+     */
+    void rewrite(List<byte[]> payloads) throws IOException {
+        int base = outSegment + 1;
+        Path file = segmentPath(base);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        // Written while the current segment is still open, so a failure here leaves appends working
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(ch, header(KIND_BASE));
+            for (byte[] payload : payloads) {
+                writeFully(ch, frame(payload));
+            }
+            ch.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        int old = outSegment;
+        out.close();
+        boolean moved = false;
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } finally {
+            openForAppend(moved ? base : old);
+        }
+
+        // Best effort: open() deletes anything below the newest base anyway (e.g. a segment locked on Windows)
+        try {
+            for (int segment : listSegments()) {
+                if (segment < base) Files.deleteIfExists(segmentPath(segment));
+            }
+        } catch (IOException e) {
+            Trivia.LOGGER.warn("[Trivia] Could not delete old stats segments; they'll be removed on the next start.", e);
+        }
+    }
+
+    boolean isOpen() {
+        return out != null && out.isOpen();
+    }
+
+    void close() throws IOException {
+        if (out != null && out.isOpen()) {
+            out.force(false);
+            out.close();
+        }
+    }
+
+    // ---------------- segments ----------------
+
+    private List<Integer> listSegments() throws IOException {
+        List<Integer> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(p -> {
+                String name = p.getFileName().toString();
+                if (name.startsWith("wins-") && name.endsWith(".log")) {
+                    try {
+                        segments.add(Integer.parseInt(name.substring(5, name.length() - 4)));
+                    } catch (NumberFormatException ignored) {}
+                }
+            });
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private Path segmentPath(int segment) {
+        return dir.resolve(String.format(Locale.ROOT, "wins-%06d.log", segment));
+    }
+
+    // KIND_APPEND / KIND_BASE, or -1 if the file has no valid header
+    private static byte readKind(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && ch.read(header) > 0) {}
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) return -1;
+            return header.get();
+        }
+    }
+
+    private void readSegment(Path file, List<byte[]> records, boolean last) throws IOException {
+        // Segments are capped at a few MiB, so read straight onto the heap (a mapped file couldn't be truncated on Windows)
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buf.remaining() < HEADER_BYTES || buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+            Trivia.LOGGER.warn("[Trivia] Ignoring stats segment {} with an unknown header.", file.getFileName());
+            return;
+        }
+        buf.get();
+
+        CRC32 crc = new CRC32();
+        int good = buf.position();
+        while (buf.remaining() >= RECORD_HEADER_BYTES) {
+            int length = buf.getInt();
+            int expected = buf.getInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES || buf.remaining() < length) break;
+
+            byte[] payload = new byte[length];
+            buf.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != expected) break;
+
+            records.add(payload);
+            good = buf.position();
+        }
+
+        if (good < buf.limit()) {
+            if (last) {
+                Trivia.LOGGER.warn("[Trivia] Dropping {} damaged trailing byte(s) from stats segment {}.",
+                        buf.limit() - good, file.getFileName());
+                try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    ch.truncate(good);
+                }
+            } else {
+                Trivia.LOGGER.warn("[Trivia] Stats segment {} is damaged after byte {}; skipping the rest of it.",
+                        file.getFileName(), good);
+            }
+        }
+    }
+
+    private void startSegment(int segment, byte kind) throws IOException {
+        Path file = segmentPath(segment);
+        out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        writeFully(out, header(kind));
+        outSegment = segment;
+    }
+
+    private void openForAppend(int segment) throws IOException {
+        out = FileChannel.open(segmentPath(segment), StandardOpenOption.WRITE);
+        out.position(out.size());
+        outSegment = segment;
+    }
+
+    // ---------------- framing ----------------
+
+    private static ByteBuffer header(byte kind) {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES);
+        buf.putInt(MAGIC).putInt(VERSION).put(kind).flip();
+        return buf;
+    }
+
+    private static ByteBuffer frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer buf = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+        buf.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        return buf;
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
+    }
+}
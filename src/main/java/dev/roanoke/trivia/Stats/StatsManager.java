@@ -0,0 +1,297 @@
+package dev.roanoke.trivia.Stats;
+
+import dev.roanoke.trivia.Trivia;
+import dev.roanoke.trivia.Utils.Workers;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// Who answered what, and how fast. Every win is appended to a binary log under config/Trivia/stats/
+// (written on the background worker) and folded into in-memory leaderboards per difficulty and time window.
+// On startup the log is replayed, and wins older than the longest window are compacted into per-player totals.
+// Server thread only, apart from the log writes.
+public class StatsManager {
+
+    public enum Window {
+        DAY(1), WEEK(7), MONTH(30), ALL(0);
+
+        final long millis;
+
+        Window(int days) {
+            this.millis = TimeUnit.DAYS.toMillis(days);
+        }
+    }
+
+    // Board key covering every difficulty
+    public static final String ALL_DIFFICULTIES = "all";
+
+    private static final byte TYPE_WIN = 1;
+    private static final byte TYPE_TOTALS = 2;
+    // Older wins only count towards all-time totals, so compaction folds them together
+    private static final long RETENTION_MILLIS = Window.MONTH.millis;
+
+    public record Win(UUID player, long timestamp, long questionId, long rewardId, int latencyMs, String difficulty) {}
+
+    public record PlayerStats(int wins, long averageLatencyMs, int bestLatencyMs, Map<String, Integer> winsByDifficulty,
+                              int rank, int winsThisWeek) {}
+
+    private static final class Totals {
+        int wins;
+        long totalLatencyMs;
+        int bestLatencyMs = Integer.MAX_VALUE;
+
+        void add(int wins, long totalLatencyMs, int bestLatencyMs) {
+            this.wins += wins;
+            this.totalLatencyMs += totalLatencyMs;
+            this.bestLatencyMs = Math.min(this.bestLatencyMs, bestLatencyMs);
+        }
+    }
+
+    private final StatsLog log;
+    private boolean logOpen = false;
+
+    // window -> difficulty (or ALL_DIFFICULTIES) -> board
+    private final Map<Window, Map<String, Leaderboard>> boards = new EnumMap<>(Window.class);
+    // wins still inside each timed window, oldest first
+    private final Map<Window, ArrayDeque<Win>> windowed = new EnumMap<>(Window.class);
+    // all-time, player -> difficulty -> totals
+    private final Map<UUID, Map<String, Totals>> totals = new HashMap<>();
+
+    public StatsManager(Path dir) {
+        this.log = new StatsLog(dir);
+        for (Window window : Window.values()) {
+            boards.put(window, new HashMap<>());
+            if (window != Window.ALL) windowed.put(window, new ArrayDeque<>());
+        }
+    }
+
+    // Replays the log into memory and compacts it. Call once on server start, before any wins are recorded.
+    public void load() {
+        long start = System.currentTimeMillis();
+
+        List<byte[]> records;
+        try {
+            records = log.open();
+            logOpen = true;
+        } catch (IOException e) {
+            Trivia.LOGGER.error("[Trivia] Could not open the stats log; wins won't be saved this session.", e);
+            return;
+        }
+
+        long cutoff = start - RETENTION_MILLIS;
+        Map<UUID, Map<String, Totals>> folded = new HashMap<>();
+        List<Win> recent = new ArrayList<>();
+        int foldedWins = 0;
+
+        for (byte[] payload : records) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+                byte type = in.readByte();
+                if (type == TYPE_WIN) {
+                    Win win = new Win(new UUID(in.readLong(), in.readLong()), in.readLong(), in.readLong(),
+                            in.readLong(), in.readInt(), in.readUTF());
+                    totalsFor(totals, win.player(), win.difficulty()).add(1, win.latencyMs(), win.latencyMs());
+                    if (win.timestamp() < cutoff) {
+                        totalsFor(folded, win.player(), win.difficulty()).add(1, win.latencyMs(), win.latencyMs());
+                        foldedWins++;
+                    } else {
+                        recent.add(win);
+                    }
+                } else if (type == TYPE_TOTALS) {
+                    UUID player = new UUID(in.readLong(), in.readLong());
+                    String difficulty = in.readUTF();
+                    int wins = in.readInt();
+                    long latency = in.readLong();
+                    int best = in.readInt();
+                    totalsFor(totals, player, difficulty).add(wins, latency, best);
+                    totalsFor(folded, player, difficulty).add(wins, latency, best);
+                }
+            } catch (IOException e) {
+                // A record we can't decode (e.g. from a newer version) is skipped, not fatal
+            }
+        }
+
+        for (Map.Entry<UUID, Map<String, Totals>> player : totals.entrySet()) {
+            for (Map.Entry<String, Totals> entry : player.getValue().entrySet()) {
+                Totals t = entry.getValue();
+                board(Window.ALL, entry.getKey()).add(player.getKey(), t.wins, t.totalLatencyMs);
+                board(Window.ALL, ALL_DIFFICULTIES).add(player.getKey(), t.wins, t.totalLatencyMs);
+            }
+        }
+
+        // The log is in append order; sort anyway in case the clock moved backwards at some point
+        recent.sort(Comparator.comparingLong(Win::timestamp));
+        for (Win win : recent) {
+            addToWindows(win);
+        }
+        expire(start);
+
+        if (foldedWins > 0) {
+            compact(folded, recent);
+        }
+
+        Trivia.LOGGER.info("[Trivia] Loaded stats for {} players ({} log records, {} old wins compacted) in {} ms.",
+                totals.size(), records.size(), foldedWins, System.currentTimeMillis() - start);
+    }
+
+    private void compact(Map<UUID, Map<String, Totals>> folded, List<Win> recent) {
+        List<byte[]> payloads = new ArrayList<>();
+        for (Map.Entry<UUID, Map<String, Totals>> player : folded.entrySet()) {
+            for (Map.Entry<String, Totals> entry : player.getValue().entrySet()) {
+                payloads.add(encodeTotals(player.getKey(), entry.getKey(), entry.getValue()));
+            }
+        }
+        for (Win win : recent) {
+            payloads.add(encodeWin(win));
+        }
+
+        try {
+            log.rewrite(payloads);
+        } catch (IOException e) {
+            Trivia.LOGGER.warn("[Trivia] Failed to compact the stats log; keeping it as it is.", e);
+            if (!log.isOpen()) {
+                logOpen = false;
+                Trivia.LOGGER.error("[Trivia] The stats log could not be reopened; wins won't be saved this session.");
+            }
+        }
+    }
+
+    public void close() {
+        if (!logOpen) return;
+        logOpen = false;
+        try {
+            // Queued behind any pending appends on the same worker
+            Workers.BACKGROUND.submit(() -> {
+                log.close();
+                return null;
+            }).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            Trivia.LOGGER.warn("[Trivia] Failed to close the stats log cleanly.", e);
+        }
+    }
+
+    // ---------------- recording ----------------
+
+    public void recordWin(UUID player, long questionId, String difficulty, int latencyMs, long rewardId) {
+        Win win = new Win(player, System.currentTimeMillis(), questionId, rewardId, latencyMs, difficulty);
+
+        totalsFor(totals, player, difficulty).add(1, latencyMs, latencyMs);
+        board(Window.ALL, difficulty).add(player, 1, latencyMs);
+        board(Window.ALL, ALL_DIFFICULTIES).add(player, 1, latencyMs);
+        addToWindows(win);
+
+        if (logOpen) {
+            byte[] payload = encodeWin(win);
+            Workers.BACKGROUND.execute(() -> {
+                try {
+                    log.append(payload);
+                } catch (IOException e) {
+                    Trivia.LOGGER.warn("[Trivia] Failed to write a win to the stats log.", e);
+                }
+            });
+        }
+    }
+
+    private void addToWindows(Win win) {
+        for (Map.Entry<Window, ArrayDeque<Win>> entry : windowed.entrySet()) {
+            entry.getValue().addLast(win);
+            board(entry.getKey(), win.difficulty()).add(win.player(), 1, win.latencyMs());
+            board(entry.getKey(), ALL_DIFFICULTIES).add(win.player(), 1, win.latencyMs());
+        }
+    }
+
+    // Takes wins that have aged out of each timed window back off its boards
+    private void expire(long now) {
+        for (Map.Entry<Window, ArrayDeque<Win>> entry : windowed.entrySet()) {
+            ArrayDeque<Win> wins = entry.getValue();
+            long cutoff = now - entry.getKey().millis;
+            while (!wins.isEmpty() && wins.peekFirst().timestamp() < cutoff) {
+                Win win = wins.pollFirst();
+                board(entry.getKey(), win.difficulty()).add(win.player(), -1, -win.latencyMs());
+                board(entry.getKey(), ALL_DIFFICULTIES).add(win.player(), -1, -win.latencyMs());
+            }
+        }
+    }
+
+    // ---------------- queries ----------------
+
+    public List<Leaderboard.Entry> top(String difficulty, Window window, int count) {
+        expire(System.currentTimeMillis());
+        Leaderboard board = boards.get(window).get(difficulty);
+        return board == null ? List.of() : board.top(count);
+    }
+
+    // null if the player has never won
+    public PlayerStats playerStats(UUID player) {
+        Map<String, Totals> byDifficulty = totals.get(player);
+        if (byDifficulty == null) return null;
+
+        expire(System.currentTimeMillis());
+        int wins = 0;
+        long latency = 0;
+        int best = Integer.MAX_VALUE;
+        Map<String, Integer> winsByDifficulty = new TreeMap<>();
+        for (Map.Entry<String, Totals> entry : byDifficulty.entrySet()) {
+            Totals t = entry.getValue();
+            wins += t.wins;
+            latency += t.totalLatencyMs;
+            best = Math.min(best, t.bestLatencyMs);
+            winsByDifficulty.put(entry.getKey(), t.wins);
+        }
+
+        Leaderboard.Entry week = board(Window.WEEK, ALL_DIFFICULTIES).get(player);
+        return new PlayerStats(wins, wins == 0 ? 0 : latency / wins, best, winsByDifficulty,
+                board(Window.ALL, ALL_DIFFICULTIES).rank(player), week == null ? 0 : week.wins());
+    }
+
+    // Difficulties anyone has won in, for command suggestions
+    public Set<String> difficulties() {
+        Set<String> out = new TreeSet<>(boards.get(Window.ALL).keySet());
+        out.remove(ALL_DIFFICULTIES);
+        return out;
+    }
+
+    private Leaderboard board(Window window, String difficulty) {
+        return boards.get(window).computeIfAbsent(difficulty, k -> new Leaderboard());
+    }
+
+    private static Totals totalsFor(Map<UUID, Map<String, Totals>> map, UUID player, String difficulty) {
+        return map.computeIfAbsent(player, k -> new HashMap<>()).computeIfAbsent(difficulty, k -> new Totals());
+    }
+
+    // ---------------- encoding ----------------
+
+    private static byte[] encodeWin(Win win) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(TYPE_WIN);
+            out.writeLong(win.player().getMostSignificantBits());
+            out.writeLong(win.player().getLeastSignificantBits());
+            out.writeLong(win.timestamp());
+            out.writeLong(win.questionId());
+            out.writeLong(win.rewardId());
+            out.writeInt(win.latencyMs());
+            out.writeUTF(win.difficulty());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeTotals(UUID player, String difficulty, Totals t) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(TYPE_TOTALS);
+            out.writeLong(player.getMostSignificantBits());
+            out.writeLong(player.getLeastSignificantBits());
+            out.writeUTF(difficulty);
+            out.writeInt(t.wins);
+            out.writeLong(t.totalLatencyMs);
+            out.writeInt(t.bestLatencyMs);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
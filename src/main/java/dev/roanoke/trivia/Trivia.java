@@ -5,10 +5,14 @@ import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.message.v1.ServerMessageEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import net.kyori.adventure.platform.fabric.FabricServerAudiences;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import dev.roanoke.trivia.Commands.QuizCommands;
+import dev.roanoke.trivia.Reward.RewardDispatcher;
+import dev.roanoke.trivia.Stats.StatsManager;
+import dev.roanoke.trivia.Utils.ConfigWatcher;
 import dev.roanoke.trivia.Utils.Messages;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,8 +31,11 @@ public class Trivia implements ModInitializer {
     public static Trivia instance;
     public QuizManager quiz = new QuizManager();
     public Config config = new Config();
-    public Integer quizIntervalCounter = 0;
-    public Integer quizTimeOutCounter = 0;
+    public final QuizTimer quizTimer = new QuizTimer();
+    private ConfigWatcher configWatcher;
+    public final RewardDispatcher rewardDispatcher = new RewardDispatcher(
+            FabricLoader.getInstance().getConfigDir().resolve("Trivia/pending_rewards.json"));
+    public final StatsManager stats = new StatsManager(FabricLoader.getInstance().getConfigDir().resolve("Trivia/stats"));
 
     @Override
     public void onInitialize() {
@@ -40,54 +47,58 @@ public class Trivia implements ModInitializer {
         ServerLifecycleEvents.SERVER_STARTED.register(server -> {
             adventure = FabricServerAudiences.of(server);
 
-            // your generators
-            quiz.addQuestions(CobblemonDexEntryQuestions.generate(server, 600));
-            quiz.addQuestions(CobblemonNameScrambleQuestions.generate(server, 600));
-            quiz.addQuestions(CobblemonAutoQuestions.generate(server, 600));
+            // every registered generator (the Cobblemon ones are served from config/Trivia/cache
+            // when the Cobblemon data hasn't changed)
+            QuestionGenerators.addAll(quiz, server, config.current());
 
-            // ✅ make the next tick start a quiz as soon as players are online
-            quizTimeOutCounter = 0;
-            quizIntervalCounter = config.getQuizInterval();
-        });
+            quiz.compileRewards(server);
 
-        ServerTickEvents.START_SERVER_TICK.register(server -> {
+            // rewards won by players who logged off before they were handed out
+            rewardDispatcher.load();
+            stats.load();
 
-            // If nobody is online, do nothing (don't tick interval or timeout)
-            if (server.getPlayerManager().getPlayerList().isEmpty()) {
-                return;
-            }
+            // pick up live edits to questions/rewards/messages without a full reload
+            configWatcher = new ConfigWatcher(FabricLoader.getInstance().getConfigDir().resolve("Trivia"), server);
+            configWatcher.start();
 
-            // No quiz running -> tick the interval timer only
-            if (!quiz.quizInProgress()) {
-                if (quizIntervalCounter >= config.getQuizInterval()) {
-                    quizIntervalCounter = 0;
+            // ✅ make the next tick start a quiz as soon as players are online
+            quizTimer.askNow(server);
+        });
 
-                    // IMPORTANT: reset timeout counter when starting a quiz
-                    quizTimeOutCounter = 0;
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
+            if (configWatcher != null) configWatcher.stop();
+            rewardDispatcher.save();
+            config.flush();
+            stats.close();
+        });
 
-                    quiz.startQuiz(server);
-                } else {
-                    quizIntervalCounter++;
-                }
-                return;
-            }
+        // Hand out queued rewards within the per-tick budget
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (rewardDispatcher.isIdle()) return;
+            Config.Settings settings = config.current();
+            rewardDispatcher.tick(server, settings.rewardsPerTick(), settings.rewardTickBudgetMs() * 1_000_000L);
+        });
 
-            // Quiz running -> tick the timeout timer only
-            if (quizTimeOutCounter >= config.getQuizTimeOut()) {
-                quizTimeOutCounter = 0;
-                quizIntervalCounter = 0;
-                quiz.timeOutQuiz(server);
-            } else {
-                quizTimeOutCounter++;
-            }
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            quizTimer.onJoin(server);
+            rewardDispatcher.onJoin(handler.getPlayer());
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> quizTimer.onLeave(server));
+
+        // Species/lang data comes from data packs, so rebuild the shared index after /reload
+        // and re-parse reward commands against the new command tree
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            SpeciesIndex.invalidate();
+            quiz.compileRewards(server);
         });
 
+        // Asks and times out questions; the timer stops while nobody is online
+        ServerTickEvents.START_SERVER_TICK.register(server -> quizTimer.tick(server));
 
         ServerMessageEvents.CHAT_MESSAGE.register((message, sender, params) -> {
             if (quiz.quizInProgress()) {
-                if (quiz.isRightAnswer(message.getContent().getString())) {
-                    LOGGER.info("Trivia question was answered correctly.");
-                    quiz.processQuizWinner(sender, sender.server);}
+                // checked off-thread; only the winner is handed back to the server thread
+                quiz.submitGuess(sender, message.getContent().getString());
             }
         });
 
@@ -0,0 +1,64 @@
+package dev.roanoke.trivia.Utils;
+
+import java.util.random.RandomGenerator;
+
+// Walker/Vose alias table: O(n) to build, O(1) to sample an index with probability weight[i] / sum(weights).
+public final class AliasTable {
+
+    private final double[] prob;
+    private final int[] alias;
+
+    /**
+     * @param weights non-negative weights; at least one must be positive
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) throw new IllegalArgumentException("AliasTable needs at least one weight");
+
+        double total = 0;
+        for (double w : weights) {
+            if (w < 0 || Double.isNaN(w) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("Invalid weight: " + w);
+            }
+            total += w;
+        }
+        if (total <= 0) throw new IllegalArgumentException("AliasTable needs a positive total weight");
+
+        prob = new double[n];
+        alias = new int[n];
+
+        // Scale so the average bucket is 1.0, then pair each under-full bucket with an over-full one
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) small[smallSize++] = i;
+            else large[largeSize++] = i;
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int s = small[--smallSize];
+            int l = large[--largeSize];
+            prob[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) small[smallSize++] = l;
+            else large[largeSize++] = l;
+        }
+        // Leftovers are 1.0 up to rounding error
+        while (largeSize > 0) prob[large[--largeSize]] = 1.0;
+        while (smallSize > 0) prob[small[--smallSize]] = 1.0;
+    }
+
+    public int size() {
+        return prob.length;
+    }
+
+    public int sample(RandomGenerator rng) {
+        int i = rng.nextInt(prob.length);
+        return rng.nextDouble() < prob[i] ? i : alias[i];
+    }
+}
@@ -0,0 +1,117 @@
+package dev.roanoke.trivia.Utils;
+
+import dev.roanoke.trivia.Quiz.Question;
+import dev.roanoke.trivia.Quiz.QuizManager;
+import dev.roanoke.trivia.Reward.RewardManager;
+import dev.roanoke.trivia.Trivia;
+import net.minecraft.server.MinecraftServer;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Watches config/Trivia/ and hot-reloads questions.json, rewards.json and messages.json on their own.
+// Files are re-parsed on the watcher thread; only the swap happens on the server thread.
+// Generated Cobblemon questions are never touched - use /trivia reload for those.
+public class ConfigWatcher {
+
+    // Editors often write a file in several steps; wait for things to settle before re-parsing
+    private static final long SETTLE_MILLIS = 300;
+
+    private final Path dir;
+    private final MinecraftServer server;
+    private WatchService watchService;
+    private Thread thread;
+
+    public ConfigWatcher(Path dir, MinecraftServer server) {
+        this.dir = dir;
+        this.server = server;
+    }
+
+    public void start() {
+        try {
+            watchService = dir.getFileSystem().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            Trivia.LOGGER.warn("[Trivia] Could not watch {} for changes; use /trivia reload instead.", dir, e);
+            return;
+        }
+
+        thread = new Thread(this::run, "Trivia-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {}
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<String> changed = new HashSet<>();
+                drain(key, changed);
+
+                // Coalesce the burst of events a single save produces
+                WatchKey more;
+                while ((more = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(more, changed);
+                }
+
+                for (String file : changed) {
+                    reload(file);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // server stopping
+        }
+    }
+
+    private void drain(WatchKey key, Set<String> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path p) {
+                changed.add(p.getFileName().toString());
+            }
+        }
+        key.reset();
+    }
+
+    private void reload(String file) {
+        try {
+            switch (file) {
+                case "questions.json" -> {
+                    List<Question> fresh = QuizManager.readQuestions(dir.resolve(file));
+                    if (fresh == null) return;
+                    server.execute(() -> Trivia.getInstance().quiz.applyQuestionsFile(fresh));
+                }
+                case "rewards.json" -> {
+                    RewardManager fresh = QuizManager.readRewards(dir.resolve(file));
+                    if (fresh == null) return;
+                    server.execute(() -> {
+                        fresh.compile(server);
+                        Trivia.getInstance().quiz.setRewardManager(fresh);
+                        Trivia.LOGGER.info("Applied rewards.json changes: {} rewards.", fresh.getRewardCount());
+                    });
+                }
+                case "messages.json" -> {
+                    Messages fresh = new Messages(dir.resolve(file));
+                    server.execute(() -> {
+                        Trivia.messages = fresh;
+                        Trivia.LOGGER.info("Applied messages.json changes.");
+                    });
+                }
+                default -> {}
+            }
+        } catch (Exception e) {
+            // A half-written or broken file shouldn't kill the watcher; the next save will retry
+            Trivia.LOGGER.warn("[Trivia] Failed to hot-reload {}; keeping the current version.", file, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package dev.roanoke.trivia.Utils;
+
+// 64-bit FNV-1a over strings, for stable ids that survive restarts (unlike String.hashCode, which is only 32 bits).
+public final class Hashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {}
+
+    // Parts are separated so ("ab", "c") and ("a", "bc") hash differently
+    public static long fnv64(String... parts) {
+        long h = FNV_OFFSET;
+        for (String part : parts) {
+            for (int i = 0; i < part.length(); i++) {
+                char c = part.charAt(i);
+                h = (h ^ (c & 0xFF)) * FNV_PRIME;
+                h = (h ^ (c >>> 8)) * FNV_PRIME;
+            }
+            h = (h ^ 0xFF) * FNV_PRIME;
+        }
+        return h;
+    }
+}
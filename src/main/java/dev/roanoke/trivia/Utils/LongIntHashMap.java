@@ -0,0 +1,87 @@
+package dev.roanoke.trivia.Utils;
+
+// Open-addressing long -> int map with no boxing: one long[] of keys and one int[] of values, linear probing.
+// Grows at 50% load. Only what the question dedupe needs: insert-if-absent and lookup, no removal.
+public final class LongIntHashMap {
+
+    // Marks an empty slot; a real key equal to it is tracked separately
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size = 0;
+
+    private boolean hasEmptyKey = false;
+    private int emptyKeyValue;
+
+    public LongIntHashMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Maps {@code key} to {@code value} unless it's already present.
+     * @return the existing value, or -1 if the key was added (so values should be non-negative)
+     */
+    public int putIfAbsent(long key, int value) {
+        if (key == EMPTY) {
+            if (hasEmptyKey) return emptyKeyValue;
+            hasEmptyKey = true;
+            emptyKeyValue = value;
+            size++;
+            return -1;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) grow();
+        return -1;
+    }
+
+    // -1 if absent
+    public int get(long key) {
+        if (key == EMPTY) return hasEmptyKey ? emptyKeyValue : -1;
+
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        // Mix the high bits in; FNV keys are fine, but callers may pass anything
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key == EMPTY) continue;
+            int slot = slot(key);
+            while (keys[slot] != EMPTY) slot = (slot + 1) & mask;
+            keys[slot] = key;
+            values[slot] = oldValues[i];
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package dev.roanoke.trivia.Utils;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// A messages.json entry parsed once into literal segments and {placeholder} slots.
+// Rendering is a single pass into a presized builder; placeholders missing from the map are left as-is.
+public final class MessageTemplate {
+
+    private final String[] literals; // always slots.length + 1 entries
+    private final String[] slots;    // placeholder keys including braces, e.g. "{player}"
+    private final int literalLength;
+    private volatile Component component; // cached MiniMessage tree, only for placeholder-free templates
+
+    private MessageTemplate(String[] literals, String[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int len = 0;
+        for (String l : literals) len += l.length();
+        this.literalLength = len;
+    }
+
+    /**
+     * @param fixed placeholders resolved once at compile time (e.g. {prefix}); their values are not re-scanned
+     */
+    public static MessageTemplate compile(String raw, Map<String, String> fixed) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(raw.length());
+
+        int i = 0;
+        while (i < raw.length()) {
+            char c = raw.charAt(i);
+            int close = c == '{' ? placeholderEnd(raw, i) : -1;
+            if (close < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+
+            String key = raw.substring(i, close + 1);
+            String value = fixed.get(key);
+            if (value != null) {
+                literal.append(value);
+            } else {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(key);
+            }
+            i = close + 1;
+        }
+        literals.add(literal.toString());
+
+        return new MessageTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    // {name} where name is letters/digits/underscores/dots; anything else is plain text
+    private static int placeholderEnd(String raw, int open) {
+        for (int j = open + 1; j < raw.length(); j++) {
+            char c = raw.charAt(j);
+            if (c == '}') return j > open + 1 ? j : -1;
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '.') return -1;
+        }
+        return -1;
+    }
+
+    public boolean hasPlaceholders() {
+        return slots.length > 0;
+    }
+
+    public String render(Map<String, String> placeholders) {
+        if (slots.length == 0) return literals[0];
+
+        StringBuilder sb = new StringBuilder(literalLength + 16 * slots.length);
+        sb.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String value = placeholders.get(slots[i]);
+            sb.append(value != null ? value : slots[i]);
+            sb.append(literals[i + 1]);
+        }
+        return sb.toString();
+    }
+
+    // Placeholder-free messages always produce the same component, so deserialize them once
+    Component component(Function<String, Component> deserializer) {
+        Component c = component;
+        if (c == null) {
+            c = deserializer.apply(literals[0]);
+            component = c;
+        }
+        return c;
+    }
+}
@@ -2,6 +2,8 @@ package dev.roanoke.trivia.Utils;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import net.minecraft.network.packet.s2c.play.GameMessageS2CPacket;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.text.Text;
 import dev.roanoke.trivia.Trivia;
 import org.apache.commons.io.IOUtils;
@@ -14,8 +16,12 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class Messages {
+    private static final MessageTemplate MISSING = MessageTemplate.compile("Placeholder message for missing key", Map.of());
+
     private HashMap<String, String> messages;
     private String prefix = "";
+    // messages compiled once at load, with {prefix} already resolved
+    private final Map<String, MessageTemplate> templates = new HashMap<>();
 
     public Messages(Path filePath) {
         try {
@@ -40,29 +46,48 @@ public class Messages {
             Gson gson = new Gson();
             try (Reader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
                 messages = gson.fromJson(reader, new TypeToken<HashMap<String, String>>(){}.getType());
-                prefix = getMessage("trivia.prefix");
+                if (messages == null) messages = new HashMap<>();
+                prefix = messages.getOrDefault("trivia.prefix", "Placeholder message for missing key").replace("{prefix}", "");
             } catch (IOException e) {
                 Trivia.LOGGER.info("Failed to load Trivia/messages.json");
                 messages = new HashMap<>();
                 prefix = "";
             }
+
+            Map<String, String> fixed = Map.of("{prefix}", prefix);
+            for (var entry : messages.entrySet()) {
+                templates.put(entry.getKey(), MessageTemplate.compile(entry.getValue(), fixed));
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to create directories for path " + filePath, e);
         }
     }
 
     public String getMessage(String key) {
-        String message = messages.getOrDefault(key, "Placeholder message for missing key");
-        message = message.replace("{prefix}", this.prefix == null ? "" : this.prefix);
-        return message;
+        return template(key).render(Map.of());
     }
 
     public String getMessage(String key, Map<String, String> placeholders) {
-        String message = getMessage(key);
-        for (String pKey: placeholders.keySet()) {
-            message = message.replace(pKey, placeholders.get(pKey));
+        return template(key).render(placeholders);
+    }
+
+    private MessageTemplate template(String key) {
+        return templates.getOrDefault(key, MISSING);
+    }
+
+    // Renders the message once and sends the same packet to every online player, instead of
+    // parsing the MiniMessage string again for each player.
+    public void broadcast(MinecraftServer server, String key, Map<String, String> placeholders) {
+        Text text = getDisplayText(key, placeholders);
+        server.getPlayerManager().sendToAll(new GameMessageS2CPacket(text, false));
+    }
+
+    public Text getDisplayText(String key, Map<String, String> placeholders) {
+        MessageTemplate template = template(key);
+        if (Trivia.adventure != null && !template.hasPlaceholders()) {
+            return Trivia.adventure.toNative(template.component(Trivia.mm::deserialize));
         }
-        return message;
+        return getDisplayText(template.render(placeholders));
     }
 
     public Text getDisplayText(String message) {
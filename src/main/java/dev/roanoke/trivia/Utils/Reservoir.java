@@ -0,0 +1,76 @@
+package dev.roanoke.trivia.Utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+// Uniform sample of up to `capacity` items from a stream of unknown length (Li's Algorithm L).
+// Candidates are offered as suppliers and only built if they're kept, so a generator that sees 10k
+// candidates but keeps 600 only builds roughly 600 * (1 + ln(10k / 600)) of them, not 10k.
+// Everything is driven by the given Random, so the same seed + candidate order gives the same sample.
+public final class Reservoir<T> {
+
+    private final int capacity;
+    private final Random rng;
+    private final List<T> items;
+    private long seen = 0;
+
+    // once full: index of the next candidate to keep, and Algorithm L's running weight
+    private long next;
+    private double w;
+
+    /**
+     * @param capacity how many items to keep; 0 or less keeps everything
+     */
+    public Reservoir(int capacity, Random rng) {
+        this.capacity = capacity;
+        this.rng = rng;
+        this.items = new ArrayList<>(capacity > 0 ? Math.min(capacity, 1024) : 16);
+    }
+
+    public void offer(Supplier<? extends T> candidate) {
+        long index = seen++;
+
+        if (capacity <= 0 || index < capacity) {
+            items.add(candidate.get());
+            if (index == capacity - 1) {
+                w = Math.exp(Math.log(uniform()) / capacity);
+                skip(index);
+            }
+            return;
+        }
+
+        if (index == next) {
+            items.set(rng.nextInt(capacity), candidate.get());
+            w *= Math.exp(Math.log(uniform()) / capacity);
+            skip(index);
+        }
+    }
+
+    // How many candidates have been offered, kept or not
+    public long seen() {
+        return seen;
+    }
+
+    // The sample in random order (reservoir slots alone would favour early candidates at the front)
+    public List<T> toList() {
+        List<T> out = new ArrayList<>(items);
+        Collections.shuffle(out, rng);
+        return out;
+    }
+
+    private void skip(long index) {
+        next = index + (long) Math.floor(Math.log(uniform()) / Math.log(1 - w)) + 1;
+    }
+
+    // (0, 1), since log(0) would break the skip maths
+    private double uniform() {
+        double u;
+        do {
+            u = rng.nextDouble();
+        } while (u == 0.0);
+        return u;
+    }
+}
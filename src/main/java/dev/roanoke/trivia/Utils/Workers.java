@@ -0,0 +1,40 @@
+package dev.roanoke.trivia.Utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+
+// Background threads used by Trivia. All daemon so they never hold the server open on shutdown.
+public final class Workers {
+
+    // Single thread on purpose: guesses are checked in the order they were sent, so the first right answer wins
+    public static final ExecutorService ANSWERS = Executors.newSingleThreadExecutor(named("Trivia-Answers"));
+
+    // Slow one-off jobs (reloads, file IO) that must not run on the server thread
+    public static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(named("Trivia-Background"));
+
+    // Bounded pool for species parsing / question generation; leaves a core for the server thread
+    public static final ForkJoinPool GENERATION = new ForkJoinPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+            pool -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setName("Trivia-Generation-" + t.getPoolIndex());
+                t.setDaemon(true);
+                return t;
+            },
+            null,
+            false
+    );
+
+    private Workers() {}
+
+    private static ThreadFactory named(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}